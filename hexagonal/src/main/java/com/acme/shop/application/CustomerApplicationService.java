@@ -2,18 +2,23 @@ package com.acme.shop.application;
 
 import com.acme.shop.domain.customer.Customer;
 import com.acme.shop.domain.customer.CustomerId;
+import com.acme.shop.domain.customer.CustomerRenamedEvent;
 import com.acme.shop.domain.customer.Email;
 import com.acme.shop.domain.order.Address;
 import com.acme.shop.ports.in.CustomerUseCases;
 import com.acme.shop.ports.out.CustomerRepository;
+import com.acme.shop.ports.out.DomainEventPublisher;
 import java.util.List;
 
 public class CustomerApplicationService implements CustomerUseCases {
 
     private final CustomerRepository customerRepository;
+    private final DomainEventPublisher eventPublisher;
 
-    public CustomerApplicationService(CustomerRepository customerRepository) {
+    public CustomerApplicationService(CustomerRepository customerRepository,
+                                      DomainEventPublisher eventPublisher) {
         this.customerRepository = customerRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -39,12 +44,17 @@ public class CustomerApplicationService implements CustomerUseCases {
                 .findById(customerId)
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + customerId));
 
+        String previousName = customer.getFullName();
         customer.updateProfile(firstName, lastName, phone);
         if (address != null) {
             customer.updateAddress(address);
         }
 
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        if (!saved.getFullName().equals(previousName)) {
+            eventPublisher.publish(CustomerRenamedEvent.now(saved));
+        }
+        return saved;
     }
 
     @Override
@@ -1,19 +1,91 @@
 package com.acme.shop.application;
 
 import com.acme.shop.domain.inventory.Inventory;
+import com.acme.shop.domain.inventory.LowStockAlert;
+import com.acme.shop.domain.inventory.SalesVelocity;
+import com.acme.shop.domain.inventory.StockHold;
+import com.acme.shop.domain.inventory.StockHoldId;
+import com.acme.shop.domain.inventory.StockMovedEvent;
+import com.acme.shop.domain.inventory.StockMovement;
+import com.acme.shop.domain.inventory.StockMovement.MovementType;
+import com.acme.shop.domain.inventory.StockSnapshot;
 import com.acme.shop.domain.product.ProductId;
 import com.acme.shop.ports.in.InventoryUseCases;
+import com.acme.shop.ports.in.InventoryUseCases.StockUpdateCommand;
+import com.acme.shop.ports.in.InventoryUseCases.StockUpdateResult;
+import com.acme.shop.ports.out.AvailabilityCache;
+import com.acme.shop.ports.out.BusinessIdGenerator;
+import com.acme.shop.ports.out.DomainEventPublisher;
+import com.acme.shop.ports.out.HoldExpiryScheduler;
+import com.acme.shop.ports.out.InventoryLocks;
 import com.acme.shop.ports.out.InventoryRepository;
+import com.acme.shop.ports.out.LowStockIndex;
 import com.acme.shop.ports.out.ProductRepository;
+import com.acme.shop.ports.out.SalesVelocityIndex;
+import com.acme.shop.ports.out.ShardedStock;
+import com.acme.shop.ports.out.StockHoldStore;
+import com.acme.shop.ports.out.StockLedger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 
 public class InventoryApplicationService implements InventoryUseCases {
 
+    public static final int SNAPSHOT_INTERVAL = 1000;
+    private static final int MAX_BUCKETS = 1024;
+    private static final int MAX_REPLAYED_MOVEMENTS = 100 * SNAPSHOT_INTERVAL;
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final InventoryRepository inventoryRepository;
     private final ProductRepository productRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final InventoryLocks inventoryLocks;
+    private final ShardedStock shardedStock;
+    private final StockLedger stockLedger;
+    private final StockHoldStore stockHoldStore;
+    private final HoldExpiryScheduler holdExpiryScheduler;
+    private final BusinessIdGenerator idGenerator;
+    private final LowStockIndex lowStockIndex;
+    private final AvailabilityCache availabilityCache;
+    private final SalesVelocityIndex salesVelocityIndex;
 
-    public InventoryApplicationService(InventoryRepository inventoryRepository, ProductRepository productRepository) {
+    public InventoryApplicationService(
+            InventoryRepository inventoryRepository,
+            ProductRepository productRepository,
+            DomainEventPublisher eventPublisher,
+            InventoryLocks inventoryLocks,
+            ShardedStock shardedStock,
+            StockLedger stockLedger,
+            StockHoldStore stockHoldStore,
+            HoldExpiryScheduler holdExpiryScheduler,
+            BusinessIdGenerator idGenerator,
+            LowStockIndex lowStockIndex,
+            AvailabilityCache availabilityCache,
+            SalesVelocityIndex salesVelocityIndex) {
         this.inventoryRepository = inventoryRepository;
         this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.inventoryLocks = inventoryLocks;
+        this.shardedStock = shardedStock;
+        this.stockLedger = stockLedger;
+        this.stockHoldStore = stockHoldStore;
+        this.holdExpiryScheduler = holdExpiryScheduler;
+        this.idGenerator = idGenerator;
+        this.lowStockIndex = lowStockIndex;
+        this.availabilityCache = availabilityCache;
+        this.salesVelocityIndex = salesVelocityIndex;
     }
 
     @Override
@@ -27,33 +99,349 @@ public class InventoryApplicationService implements InventoryUseCases {
         }
 
         Inventory inventory = Inventory.initialize(productId, initialQuantity);
-        return inventoryRepository.save(inventory);
+        Inventory saved = inventoryRepository.save(inventory);
+        stockLedger.append(List.of(inventory.initialMovement()));
+        return saved;
     }
 
     @Override
     public void reserveStock(ProductId productId, int quantity) {
-        Inventory inventory = findInventoryOrThrow(productId);
-        inventory.reserve(quantity);
-        inventoryRepository.save(inventory);
+        reserveStock(Map.of(productId, quantity));
+    }
+
+    @Override
+    public void reserveStock(Map<ProductId, Integer> quantities) {
+        Map<ProductId, Integer> sharded = shardedStock.findAvailable(quantities.keySet());
+        inventoryLocks.lockForUpdate(unsharded(quantities.keySet(), sharded));
+        List<Inventory> inventories = findInventoriesOrThrow(quantities.keySet());
+
+        List<String> shortages = new ArrayList<>();
+        for (Inventory inventory : inventories) {
+            int requested = quantities.get(inventory.getProductId());
+            int available = sharded.getOrDefault(inventory.getProductId(), inventory.getAvailableQuantity());
+            if (available < requested) {
+                shortages.add("product " + inventory.getProductId() + ": available=" + available
+                        + ", requested=" + requested);
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new IllegalStateException("Insufficient stock for " + String.join("; ", shortages));
+        }
+
+        List<Inventory> changed = new ArrayList<>();
+        List<StockMovement> movements = new ArrayList<>();
+        List<StockMovedEvent> events = new ArrayList<>();
+        for (Inventory inventory : inventories) {
+            ProductId productId = inventory.getProductId();
+            int quantity = quantities.get(productId);
+            if (sharded.containsKey(productId)) {
+                if (!shardedStock.tryReserve(productId, quantity)) {
+                    throw new IllegalStateException("Insufficient stock for product " + productId
+                            + ": buckets drained concurrently, requested=" + quantity);
+                }
+                movements.add(StockMovement.create(productId, MovementType.RESERVED, quantity, "Order reservation"));
+                events.add(StockMovedEvent.now(inventory, MovementType.RESERVED, quantity,
+                        sharded.get(productId) - quantity));
+            } else {
+                movements.add(inventory.reserve(quantity));
+                changed.add(inventory);
+                events.add(StockMovedEvent.now(inventory, MovementType.RESERVED, quantity));
+            }
+        }
+        persist(changed, movements);
+        events.forEach(eventPublisher::publish);
     }
 
     @Override
     public void releaseStock(ProductId productId, int quantity) {
-        Inventory inventory = findInventoryOrThrow(productId);
-        inventory.release(quantity);
-        inventoryRepository.save(inventory);
+        releaseStock(Map.of(productId, quantity));
+    }
+
+    @Override
+    public void releaseStock(Map<ProductId, Integer> quantities) {
+        Map<ProductId, Integer> sharded = shardedStock.findAvailable(quantities.keySet());
+        inventoryLocks.lockForUpdate(unsharded(quantities.keySet(), sharded));
+        List<Inventory> inventories = findInventoriesOrThrow(quantities.keySet());
+
+        List<Inventory> changed = new ArrayList<>();
+        List<StockMovement> movements = new ArrayList<>();
+        List<StockMovedEvent> events = new ArrayList<>();
+        for (Inventory inventory : inventories) {
+            ProductId productId = inventory.getProductId();
+            int quantity = quantities.get(productId);
+            if (sharded.containsKey(productId)) {
+                shardedStock.release(productId, quantity);
+                movements.add(StockMovement.create(productId, MovementType.RELEASED, quantity, "Order cancellation"));
+                events.add(StockMovedEvent.now(inventory, MovementType.RELEASED, quantity,
+                        sharded.get(productId) + quantity));
+            } else {
+                movements.add(inventory.release(quantity));
+                changed.add(inventory);
+                events.add(StockMovedEvent.now(inventory, MovementType.RELEASED, quantity));
+            }
+        }
+        persist(changed, movements);
+        events.forEach(eventPublisher::publish);
+    }
+
+    @Override
+    public StockHold holdStock(Map<ProductId, Integer> quantities, Duration ttl) {
+        StockHold hold = StockHold.create(new StockHoldId(idGenerator.nextId("HOLD")), quantities, ttl);
+        reserveStock(hold.quantities());
+        stockHoldStore.save(hold);
+        // A hold whose transaction rolls back is simply absent from the store when its timer fires
+        holdExpiryScheduler.schedule(hold.id(), hold.expiresAt());
+        return hold;
+    }
+
+    @Override
+    public void confirmHold(StockHoldId holdId) {
+        if (!stockHoldStore.deleteById(holdId)) {
+            throw new IllegalStateException("Stock hold expired or unknown: " + holdId.value());
+        }
+        holdExpiryScheduler.cancel(holdId);
+    }
+
+    @Override
+    public void releaseHold(StockHoldId holdId) {
+        StockHold hold = stockHoldStore.findById(holdId).orElse(null);
+        if (hold == null || !stockHoldStore.deleteById(holdId)) {
+            throw new IllegalStateException("Stock hold expired or unknown: " + holdId.value());
+        }
+        releaseStock(hold.quantities());
+        holdExpiryScheduler.cancel(holdId);
+    }
+
+    @Override
+    public int releaseExpiredHolds(Collection<StockHoldId> holdIds) {
+        Instant now = Instant.now();
+        List<StockHold> expired = stockHoldStore.findAllById(holdIds).stream()
+                .filter(hold -> hold.isExpired(now))
+                .toList();
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        // Only release holds this call actually removed; a concurrent confirm or release wins otherwise
+        Set<StockHoldId> deleted = stockHoldStore.deleteAllById(expired.stream().map(StockHold::id).toList());
+        List<StockHold> released = expired.stream().filter(hold -> deleted.contains(hold.id())).toList();
+        if (!released.isEmpty()) {
+            releaseStock(StockHold.totalQuantities(released));
+        }
+        return released.size();
     }
 
     @Override
     public void shipStock(ProductId productId, int quantity) {
+        shipStock(Map.of(productId, quantity));
+    }
+
+    @Override
+    public void shipStock(Map<ProductId, Integer> quantities) {
+        inventoryLocks.lockForUpdate(quantities.keySet());
+        List<Inventory> inventories = findInventoriesOrThrow(quantities.keySet());
+
+        List<StockMovement> movements = new ArrayList<>(inventories.size());
+        List<StockMovedEvent> events = new ArrayList<>(inventories.size());
+        for (Inventory inventory : inventories) {
+            int quantity = quantities.get(inventory.getProductId());
+            movements.add(inventory.ship(quantity));
+            events.add(StockMovedEvent.now(inventory, MovementType.SHIPPED, quantity));
+        }
+        persist(inventories, movements);
+        events.forEach(eventPublisher::publish);
+    }
+
+    @Override
+    public List<StockUpdateResult> applyStockUpdates(List<StockUpdateCommand> commands) {
+        StockUpdateResult[] results = new StockUpdateResult[commands.size()];
+        Map<ProductId, List<Integer>> byProduct = new TreeMap<>(Comparator.comparing(ProductId::value));
+        Set<String> seen = new HashSet<>(stockLedger.findAppliedReferences(referencesOf(commands)));
+        for (int i = 0; i < commands.size(); i++) {
+            StockUpdateCommand command = commands.get(i);
+            if (command.type() != MovementType.RECEIVED && command.type() != MovementType.ADJUSTED) {
+                results[i] = StockUpdateResult.rejected(command.reference(), command.productId(),
+                        "Only RECEIVED and ADJUSTED updates are accepted, got " + command.type());
+            } else if (command.reference() != null && !seen.add(command.reference())) {
+                results[i] = StockUpdateResult.rejected(command.reference(), command.productId(),
+                        "Stock update already applied: " + command.reference());
+            } else {
+                byProduct.computeIfAbsent(command.productId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+        if (byProduct.isEmpty()) {
+            return List.of(results);
+        }
+
+        Map<ProductId, Integer> sharded = shardedStock.findAvailable(byProduct.keySet());
+        inventoryLocks.lockForUpdate(unsharded(byProduct.keySet(), sharded));
+        Map<ProductId, Inventory> inventories = new HashMap<>();
+        for (Inventory inventory : inventoryRepository.findByProductIdIn(byProduct.keySet())) {
+            inventories.put(inventory.getProductId(), inventory);
+        }
+
+        List<Inventory> changed = new ArrayList<>();
+        List<StockMovement> movements = new ArrayList<>();
+        List<StockMovedEvent> events = new ArrayList<>();
+        byProduct.forEach((productId, indexes) -> {
+            Inventory inventory = inventories.get(productId);
+            String productError = inventory == null ? "No inventory record for product: " + productId
+                    : sharded.containsKey(productId) ? "Stock is sharded for product " + productId
+                            + ", unshard it before receiving or adjusting" : null;
+            List<StockMovement> applied = new ArrayList<>();
+            for (int index : indexes) {
+                StockUpdateCommand command = commands.get(index);
+                if (productError != null) {
+                    results[index] = StockUpdateResult.rejected(command.reference(), productId, productError);
+                    continue;
+                }
+                try {
+                    applied.add(command.type() == MovementType.RECEIVED
+                            ? inventory.receive(command.quantity(), reasonOf(command))
+                            : inventory.adjust(command.quantity(), reasonOf(command)));
+                    results[index] = StockUpdateResult.applied(command.reference(), productId);
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    results[index] = StockUpdateResult.rejected(command.reference(), productId, e.getMessage());
+                }
+            }
+            if (!applied.isEmpty()) {
+                changed.add(inventory);
+                movements.addAll(applied);
+                applied.forEach(movement -> events.add(
+                        StockMovedEvent.now(inventory, movement.getType(), movement.getQuantity())));
+            }
+        });
+        persist(changed, movements);
+        stockLedger.appendReferences(appliedReferences(results));
+        events.forEach(eventPublisher::publish);
+        return List.of(results);
+    }
+
+    @Override
+    public void shardStock(ProductId productId, int bucketCount) {
+        if (bucketCount < 2 || bucketCount > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Bucket count must be between 2 and " + MAX_BUCKETS + ": " + bucketCount);
+        }
+        inventoryLocks.lockForUpdate(List.of(productId));
+        if (!shardedStock.findAvailable(List.of(productId)).isEmpty()) {
+            throw new IllegalStateException("Stock is already sharded for product: " + productId);
+        }
+        Inventory inventory = findInventoryOrThrow(productId);
+        int available = inventory.getAvailableQuantity();
+        StockMovement movement = inventory.allocateToBuckets(available);
+        persist(List.of(inventory), List.of(movement));
+        shardedStock.create(productId, bucketCount, available);
+    }
+
+    @Override
+    public void unshardStock(ProductId productId) {
+        inventoryLocks.lockForUpdate(List.of(productId));
         Inventory inventory = findInventoryOrThrow(productId);
-        inventory.ship(quantity);
-        inventoryRepository.save(inventory);
+        ShardedStock.DrainedStock drained = shardedStock.drain(productId);
+        StockMovement movement = inventory.returnFromBuckets(drained.available(), drained.movements());
+        persist(List.of(inventory), List.of(movement));
     }
 
     @Override
     public int getAvailableQuantity(ProductId productId) {
-        return findInventoryOrThrow(productId).getAvailableQuantity();
+        Integer available = availabilityCache.getAll(List.of(productId), this::loadAvailableQuantities).get(productId);
+        if (available == null) {
+            throw new IllegalStateException("No inventory record for product: " + productId);
+        }
+        return available;
+    }
+
+    @Override
+    public Map<ProductId, Integer> getAvailableQuantities(Collection<ProductId> productIds) {
+        return availabilityCache.getAll(productIds, this::loadAvailableQuantities);
+    }
+
+    @Override
+    public List<LowStockAlert> getLowStockItems() {
+        return lowStockIndex.findAll();
+    }
+
+    @Override
+    public boolean isLowOnStock(ProductId productId) {
+        return lowStockIndex.contains(productId);
+    }
+
+    @Override
+    public SalesVelocity getSalesVelocity(ProductId productId) {
+        return salesVelocityIndex.find(productId).withAvailableQuantity(getAvailableQuantity(productId));
+    }
+
+    @Override
+    public Map<ProductId, SalesVelocity> getSalesVelocities(Collection<ProductId> productIds) {
+        Map<ProductId, Integer> available = getAvailableQuantities(productIds);
+        Map<ProductId, SalesVelocity> velocities = new HashMap<>();
+        for (ProductId productId : productIds) {
+            velocities.put(productId,
+                    salesVelocityIndex.find(productId).withAvailableQuantity(available.getOrDefault(productId, 0)));
+        }
+        return velocities;
+    }
+
+    @Override
+    public StockSnapshot getLedgerBalance(ProductId productId) {
+        findInventoryOrThrow(productId);
+        StockSnapshot snapshot = stockLedger.findLatestSnapshot(productId)
+                .orElseGet(() -> new StockSnapshot(productId, 0, 0, LEDGER_START));
+        List<StockMovement> movements = stockLedger.findByProductIdSince(productId, snapshot.takenAt(),
+                MAX_REPLAYED_MOVEMENTS + 1);
+        if (movements.size() > MAX_REPLAYED_MOVEMENTS) {
+            throw new IllegalStateException("More than " + MAX_REPLAYED_MOVEMENTS
+                    + " movements since the last stock snapshot of product " + productId);
+        }
+        boolean sharded = !shardedStock.findAvailable(List.of(productId)).isEmpty();
+        return snapshot.replay(movements, sharded, LocalDateTime.now());
+    }
+
+    private Map<ProductId, Integer> loadAvailableQuantities(Collection<ProductId> productIds) {
+        Map<ProductId, Integer> available = new HashMap<>();
+        for (Inventory inventory : inventoryRepository.findByProductIdIn(productIds)) {
+            available.put(inventory.getProductId(), inventory.getAvailableQuantity());
+        }
+        available.putAll(shardedStock.findAvailable(productIds));
+        return available;
+    }
+
+    private void persist(List<Inventory> changed, List<StockMovement> movements) {
+        List<StockSnapshot> snapshots = new ArrayList<>();
+        for (Inventory inventory : changed) {
+            if (inventory.isSnapshotDue(SNAPSHOT_INTERVAL)) {
+                snapshots.add(inventory.takeSnapshot());
+            }
+        }
+        if (!changed.isEmpty()) {
+            inventoryRepository.saveAll(changed);
+        }
+        stockLedger.append(movements);
+        snapshots.forEach(stockLedger::appendSnapshot);
+        availabilityCache.invalidate(movements.stream().map(StockMovement::getProductId).distinct().toList());
+    }
+
+    private static List<String> referencesOf(List<StockUpdateCommand> commands) {
+        return commands.stream().map(StockUpdateCommand::reference).filter(Objects::nonNull).distinct().toList();
+    }
+
+    private static List<String> appliedReferences(StockUpdateResult[] results) {
+        return Arrays.stream(results)
+                .filter(result -> result.error() == null && result.reference() != null)
+                .map(StockUpdateResult::reference)
+                .toList();
+    }
+
+    private static String reasonOf(StockUpdateCommand command) {
+        if (command.reason() != null && !command.reason().isBlank()) {
+            return command.reason();
+        }
+        return command.type() == MovementType.RECEIVED ? "Warehouse receipt" : "Stock count correction";
+    }
+
+    private static Set<ProductId> unsharded(Set<ProductId> productIds, Map<ProductId, Integer> sharded) {
+        Set<ProductId> unsharded = new LinkedHashSet<>(productIds);
+        unsharded.removeAll(sharded.keySet());
+        return unsharded;
     }
 
     private Inventory findInventoryOrThrow(ProductId productId) {
@@ -61,4 +449,16 @@ public class InventoryApplicationService implements InventoryUseCases {
                 .findByProductId(productId)
                 .orElseThrow(() -> new IllegalStateException("No inventory record for product: " + productId));
     }
+
+    private List<Inventory> findInventoriesOrThrow(Collection<ProductId> productIds) {
+        List<Inventory> inventories = new ArrayList<>(inventoryRepository.findByProductIdIn(productIds));
+        if (inventories.size() < productIds.size()) {
+            Set<ProductId> missing = new LinkedHashSet<>(productIds);
+            inventories.forEach(inventory -> missing.remove(inventory.getProductId()));
+            throw new IllegalStateException("No inventory record for products: " + missing);
+        }
+        // Rows are already locked in product id order by InventoryLocks; write them in the same order
+        inventories.sort(Comparator.comparing(inventory -> inventory.getProductId().value()));
+        return inventories;
+    }
 }
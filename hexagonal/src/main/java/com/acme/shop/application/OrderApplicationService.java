@@ -4,74 +4,214 @@ import com.acme.shop.domain.customer.Customer;
 import com.acme.shop.domain.customer.CustomerId;
 import com.acme.shop.domain.order.Address;
 import com.acme.shop.domain.order.Order;
+import com.acme.shop.domain.order.OrderCursor;
+import com.acme.shop.domain.order.OrderHistoryEntry;
 import com.acme.shop.domain.order.OrderId;
 import com.acme.shop.domain.order.OrderLine;
+import com.acme.shop.domain.order.OrderPlacedEvent;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.domain.order.OrderStatusChangedEvent;
+import com.acme.shop.domain.order.OrderSummary;
 import com.acme.shop.domain.order.Quantity;
 import com.acme.shop.domain.product.Product;
+import com.acme.shop.domain.product.ProductId;
 import com.acme.shop.exception.OrderNotFoundException;
 import com.acme.shop.ports.in.InventoryUseCases;
 import com.acme.shop.ports.in.OrderUseCases;
+import com.acme.shop.ports.out.BusinessIdGenerator;
 import com.acme.shop.ports.out.CustomerRepository;
+import com.acme.shop.ports.out.DomainEventPublisher;
+import com.acme.shop.ports.out.EventOutbox;
+import com.acme.shop.ports.out.IdempotencyCache;
 import com.acme.shop.ports.out.NotificationSender;
+import com.acme.shop.ports.out.OrderHistoryQuery;
 import com.acme.shop.ports.out.OrderRepository;
+import com.acme.shop.ports.out.OrderSummaryProjection;
+import com.acme.shop.ports.out.OrderSummaryQuery;
 import com.acme.shop.ports.out.ProductRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class OrderApplicationService implements OrderUseCases {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
     private final InventoryUseCases inventoryUseCases;
     private final NotificationSender notificationSender;
+    private final IdempotencyCache idempotencyCache;
+    private final BusinessIdGenerator idGenerator;
+    private final EventOutbox eventOutbox;
+    private final DomainEventPublisher eventPublisher;
+    private final OrderHistoryQuery orderHistoryQuery;
+    private final OrderSummaryProjection orderSummaryProjection;
+    private final OrderSummaryQuery orderSummaryQuery;
 
     public OrderApplicationService(
             OrderRepository orderRepository,
             CustomerRepository customerRepository,
             ProductRepository productRepository,
             InventoryUseCases inventoryUseCases,
-            NotificationSender notificationSender) {
+            NotificationSender notificationSender,
+            IdempotencyCache idempotencyCache,
+            BusinessIdGenerator idGenerator,
+            EventOutbox eventOutbox,
+            DomainEventPublisher eventPublisher,
+            OrderHistoryQuery orderHistoryQuery,
+            OrderSummaryProjection orderSummaryProjection,
+            OrderSummaryQuery orderSummaryQuery) {
         this.orderRepository = orderRepository;
         this.customerRepository = customerRepository;
         this.productRepository = productRepository;
         this.inventoryUseCases = inventoryUseCases;
         this.notificationSender = notificationSender;
+        this.idempotencyCache = idempotencyCache;
+        this.idGenerator = idGenerator;
+        this.eventOutbox = eventOutbox;
+        this.eventPublisher = eventPublisher;
+        this.orderHistoryQuery = orderHistoryQuery;
+        this.orderSummaryProjection = orderSummaryProjection;
+        this.orderSummaryQuery = orderSummaryQuery;
     }
 
     @Override
     public Order createOrder(CustomerId customerId, List<LineItemCommand> items, Address shippingAddress) {
+        return create(customerId, items, shippingAddress, null);
+    }
+
+    @Override
+    public Order createOrder(String idempotencyKey, CustomerId customerId, List<LineItemCommand> items,
+                             Address shippingAddress) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return createOrder(customerId, items, shippingAddress);
+        }
+
+        Optional<Order> replayed = findByIdempotencyKey(idempotencyKey);
+        if (replayed.isPresent()) {
+            return requireSameRequest(replayed.get(), idempotencyKey, customerId, items, shippingAddress);
+        }
+
+        if (!idempotencyCache.claim(idempotencyKey)) {
+            return findByIdempotencyKey(idempotencyKey)
+                    .map(order -> requireSameRequest(order, idempotencyKey, customerId, items, shippingAddress))
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Order request already in progress for idempotency key: " + idempotencyKey));
+        }
+        try {
+            Order order = create(customerId, items, shippingAddress, idempotencyKey);
+            idempotencyCache.complete(idempotencyKey, order.getId());
+            return order;
+        } catch (RuntimeException e) {
+            idempotencyCache.release(idempotencyKey);
+            throw e;
+        }
+    }
+
+    private Order create(CustomerId customerId, List<LineItemCommand> items, Address shippingAddress,
+                         String idempotencyKey) {
         Customer customer = customerRepository
                 .findById(customerId)
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + customerId));
 
-        String orderNumber = "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        Order order = Order.create(orderNumber, customerId, "EUR");
+        List<String> problems = itemProblems(items);
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", problems));
+        }
+        Map<ProductId, Product> products = findProducts(productIdsOf(items));
+        problems = productProblems(items, products);
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", problems));
+        }
 
-        for (LineItemCommand item : items) {
-            Product product = productRepository
-                    .findById(item.productId())
-                    .orElseThrow(() -> new IllegalArgumentException("Product not found: " + item.productId()));
+        inventoryUseCases.reserveStock(quantitiesOf(items));
 
-            if (!product.isActive()) {
-                throw new IllegalArgumentException("Product is not active: " + product.getName());
-            }
+        Order order = buildOrder(customerId, items, products, idempotencyKey);
+        Address address = shippingAddress != null ? shippingAddress :
+                customer.getAddress();
+        OrderPlacedEvent event = order.place(address);
 
-            inventoryUseCases.reserveStock(product.getId(), item.quantity());
+        Order saved = orderRepository.save(order);
+        publishPlaced(event, saved);
+        return saved;
+    }
 
-            OrderLine line = OrderLine.create(
-                    product.getId(),
-                    product.getName(),
-                    Quantity.of(item.quantity()),
-                    product.getPrice());
-            order.addLine(line);
+    @Override
+    public List<BulkOrderResult> createOrders(List<BulkOrderCommand> commands) {
+        Map<CustomerId, Customer> customers = findCustomers(commands);
+        Set<ProductId> productIds = new LinkedHashSet<>();
+        Map<CustomerId, List<Integer>> byCustomer = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            BulkOrderCommand command = commands.get(i);
+            if (command.items() != null) {
+                productIds.addAll(productIdsOf(command.items()));
+            }
+            byCustomer.computeIfAbsent(command.customerId(), id -> new ArrayList<>()).add(i);
         }
+        Map<ProductId, Product> products = findProducts(productIds);
+        Map<ProductId, Integer> remaining = new HashMap<>(inventoryUseCases.getAvailableQuantities(productIds));
 
-        Address address = shippingAddress != null ? shippingAddress :
-                customer.getAddress();
-        order.place(address);
+        BulkOrderResult[] results = new BulkOrderResult[commands.size()];
+        Map<ProductId, Integer> toReserve = new LinkedHashMap<>();
+        List<Integer> accepted = new ArrayList<>();
+        List<Order> drafts = new ArrayList<>();
+        List<OrderPlacedEvent> events = new ArrayList<>();
+
+        for (Map.Entry<CustomerId, List<Integer>> partition : byCustomer.entrySet()) {
+            Customer customer = customers.get(partition.getKey());
+            for (int index : partition.getValue()) {
+                BulkOrderCommand command = commands.get(index);
 
-        return orderRepository.save(order);
+                // Checked before anything is added to remaining or toReserve
+                List<String> problems = itemProblems(command.items());
+                if (problems.isEmpty()) {
+                    problems = customer == null
+                            ? List.of("Customer not found: " + command.customerId())
+                            : productProblems(command.items(), products);
+                }
+                Map<ProductId, Integer> quantities = problems.isEmpty() ? quantitiesOf(command.items()) : Map.of();
+                if (problems.isEmpty()) {
+                    problems = shortages(quantities, remaining);
+                }
+                if (!problems.isEmpty()) {
+                    results[index] = BulkOrderResult.rejected(command.reference(), String.join("; ", problems));
+                    continue;
+                }
+
+                quantities.forEach((productId, quantity) -> {
+                    remaining.merge(productId, -quantity, Integer::sum);
+                    toReserve.merge(productId, quantity, Integer::sum);
+                });
+                Order order = buildOrder(command.customerId(), command.items(), products, null);
+                Address address = command.shippingAddress() != null ? command.shippingAddress() :
+                        customer.getAddress();
+                events.add(order.place(address));
+                drafts.add(order);
+                accepted.add(index);
+            }
+        }
+
+        if (!toReserve.isEmpty()) {
+            inventoryUseCases.reserveStock(toReserve);
+        }
+        List<Order> saved = drafts.isEmpty() ? List.of() : orderRepository.saveAll(drafts);
+        for (int i = 0; i < saved.size(); i++) {
+            Order order = saved.get(i);
+            publishPlaced(events.get(i), order);
+            int index = accepted.get(i);
+            results[index] = BulkOrderResult.created(commands.get(index).reference(), order.getId(), order.getOrderNumber());
+        }
+        return List.of(results);
     }
 
     @Override
@@ -84,8 +224,10 @@ public class OrderApplicationService implements OrderUseCases {
         Address address = order.getShippingAddress() != null ? order.getShippingAddress() :
                 customer.getAddress();
 
-        order.place(address);
+        OrderPlacedEvent event = order.place(address);
         Order saved = orderRepository.save(order);
+        eventOutbox.append(event);
+        eventPublisher.publish(event);
 
         notificationSender.sendOrderConfirmation(
                 customer.getEmail(),
@@ -99,12 +241,36 @@ public class OrderApplicationService implements OrderUseCases {
     public Order cancelOrder(OrderId orderId, String reason) {
         Order order = findOrderOrThrow(orderId);
 
-        for (OrderLine line : order.getLines()) {
-            inventoryUseCases.releaseStock(line.getProductId(), line.getQuantity().value());
-        }
+        inventoryUseCases.releaseStock(order.quantitiesByProduct());
 
         order.cancel(reason);
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        eventPublisher.publish(OrderStatusChangedEvent.now(saved));
+        return saved;
+    }
+
+    @Override
+    public int cancelUnpaidOrders(Collection<OrderId> orderIds, LocalDateTime placedBefore) {
+        List<Order> expired = new ArrayList<>();
+        Map<ProductId, Integer> toRelease = new LinkedHashMap<>();
+        for (Order order : orderRepository.findAllById(orderIds)) {
+            if (order.getStatus() != OrderStatus.PLACED || !order.getPlacedAt().isBefore(placedBefore)) {
+                continue;
+            }
+            order.quantitiesByProduct()
+                    .forEach((productId, quantity) -> toRelease.merge(productId, quantity, Integer::sum));
+            order.cancel("Payment not received before " + placedBefore);
+            expired.add(order);
+        }
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        // An order paid after it was loaded fails its version check, rolling back the whole chunk
+        inventoryUseCases.releaseStock(toRelease);
+        List<Order> saved = orderRepository.saveAll(expired);
+        saved.forEach(order -> eventPublisher.publish(OrderStatusChangedEvent.now(order)));
+        return saved.size();
     }
 
     @Override
@@ -119,11 +285,173 @@ public class OrderApplicationService implements OrderUseCases {
                 .orElseThrow(() -> new OrderNotFoundException("Order not found: " + orderNumber));
     }
 
+    @Override
+    public OrderSummary getOrderSummary(OrderId orderId) {
+        return orderSummaryQuery.findById(orderId)
+                .orElseGet(() -> summarize(findOrderOrThrow(orderId)));
+    }
+
+    @Override
+    public OrderSummary getOrderSummaryByNumber(String orderNumber) {
+        return orderSummaryQuery.findByOrderNumber(orderNumber)
+                .orElseGet(() -> summarize(getOrderByNumber(orderNumber)));
+    }
+
+    @Override
+    public OrderStatus getOrderStatus(OrderId orderId) {
+        return orderSummaryQuery.findStatusById(orderId)
+                .orElseGet(() -> summarize(findOrderOrThrow(orderId)).status());
+    }
+
     @Override
     public List<Order> getOrdersByCustomer(CustomerId customerId) {
         return orderRepository.findByCustomerId(customerId);
     }
 
+    @Override
+    public OrderHistoryPage getOrderHistory(CustomerId customerId, OrderCursor after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        List<OrderHistoryEntry> entries = orderHistoryQuery.findByCustomer(customerId, after, pageSize + 1);
+        if (entries.size() <= pageSize) {
+            return new OrderHistoryPage(entries, null);
+        }
+        List<OrderHistoryEntry> page = entries.subList(0, pageSize);
+        return new OrderHistoryPage(List.copyOf(page), page.get(pageSize - 1).cursor());
+    }
+
+    @Override
+    public void streamOrderHistory(CustomerId customerId, Consumer<OrderHistoryEntry> consumer) {
+        orderHistoryQuery.forEachByCustomer(customerId, consumer);
+    }
+
+    private Optional<Order> findByIdempotencyKey(String idempotencyKey) {
+        Optional<OrderId> cached = idempotencyCache.lookup(idempotencyKey);
+        if (cached.isPresent()) {
+            return orderRepository.findById(cached.get());
+        }
+        Optional<Order> persisted = orderRepository.findByIdempotencyKey(idempotencyKey);
+        persisted.ifPresent(order -> idempotencyCache.complete(idempotencyKey, order.getId()));
+        return persisted;
+    }
+
+    private static Order requireSameRequest(Order order, String idempotencyKey, CustomerId customerId,
+                                            List<LineItemCommand> items, Address shippingAddress) {
+        boolean same = order.getCustomerId().equals(customerId)
+                && order.quantitiesByProduct().equals(quantitiesOf(items))
+                && (shippingAddress == null || shippingAddress.equals(order.getShippingAddress()));
+        if (!same) {
+            throw new IllegalArgumentException(
+                    "Idempotency key was already used for a different order request: " + idempotencyKey);
+        }
+        return order;
+    }
+
+    private Order buildOrder(CustomerId customerId, List<LineItemCommand> items, Map<ProductId, Product> products,
+                             String idempotencyKey) {
+        Order order = Order.create(idGenerator.nextId("ORD"), customerId, "EUR", idempotencyKey);
+        List<OrderLine> lines = new ArrayList<>(items.size());
+        for (LineItemCommand item : items) {
+            Product product = products.get(item.productId());
+            lines.add(OrderLine.create(
+                    product.getId(),
+                    product.getName(),
+                    Quantity.of(item.quantity()),
+                    product.getPrice()));
+        }
+        order.addLines(lines);
+        return order;
+    }
+
+    private OrderSummary summarize(Order order) {
+        String customerName = customerRepository.findById(order.getCustomerId())
+                .map(Customer::getFullName)
+                .orElse(null);
+        // Only reached when the projection has no row yet; write it so the next lookup hits
+        OrderSummary summary = OrderSummary.of(order, customerName);
+        orderSummaryProjection.saveIfAbsent(summary);
+        return summary;
+    }
+
+    private void publishPlaced(OrderPlacedEvent event, Order saved) {
+        OrderPlacedEvent placed = event.withOrderId(saved.getId());
+        eventOutbox.append(placed);
+        eventPublisher.publish(placed);
+    }
+
+    private Map<CustomerId, Customer> findCustomers(List<BulkOrderCommand> commands) {
+        Set<CustomerId> customerIds = new LinkedHashSet<>();
+        for (BulkOrderCommand command : commands) {
+            customerIds.add(command.customerId());
+        }
+        Map<CustomerId, Customer> customers = new HashMap<>();
+        for (Customer customer : customerRepository.findAllById(customerIds)) {
+            customers.put(customer.getId(), customer);
+        }
+        return customers;
+    }
+
+    private Map<ProductId, Product> findProducts(Collection<ProductId> productIds) {
+        Map<ProductId, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
+
+    private static Set<ProductId> productIdsOf(List<LineItemCommand> items) {
+        Set<ProductId> productIds = new LinkedHashSet<>();
+        for (LineItemCommand item : items) {
+            productIds.add(item.productId());
+        }
+        return productIds;
+    }
+
+    private static Map<ProductId, Integer> quantitiesOf(List<LineItemCommand> items) {
+        Map<ProductId, Integer> quantities = new LinkedHashMap<>();
+        for (LineItemCommand item : items) {
+            quantities.merge(item.productId(), item.quantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private static List<String> itemProblems(List<LineItemCommand> items) {
+        if (items == null || items.isEmpty()) {
+            return List.of("Order must contain at least one item");
+        }
+        List<String> problems = new ArrayList<>();
+        for (LineItemCommand item : items) {
+            if (item.quantity() <= 0) {
+                problems.add("Quantity must be positive for product " + item.productId() + ", got: " + item.quantity());
+            }
+        }
+        return problems;
+    }
+
+    private static List<String> productProblems(List<LineItemCommand> items, Map<ProductId, Product> products) {
+        List<String> problems = new ArrayList<>();
+        for (ProductId productId : productIdsOf(items)) {
+            Product product = products.get(productId);
+            if (product == null) {
+                problems.add("Product not found: " + productId);
+            } else if (!product.isActive()) {
+                problems.add("Product is not active: " + product.getName());
+            }
+        }
+        return problems;
+    }
+
+    private static List<String> shortages(Map<ProductId, Integer> quantities, Map<ProductId, Integer> available) {
+        List<String> shortages = new ArrayList<>();
+        quantities.forEach((productId, requested) -> {
+            int stock = available.getOrDefault(productId, 0);
+            if (stock < requested) {
+                shortages.add("Insufficient stock for product " + productId + ": available=" + stock
+                        + ", requested=" + requested);
+            }
+        });
+        return shortages;
+    }
+
     private Order findOrderOrThrow(OrderId orderId) {
         return orderRepository
                 .findById(orderId)
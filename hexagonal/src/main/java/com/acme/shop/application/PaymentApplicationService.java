@@ -3,26 +3,35 @@ package com.acme.shop.application;
 import com.acme.shop.domain.order.Order;
 import com.acme.shop.domain.order.OrderId;
 import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.domain.order.OrderStatusChangedEvent;
 import com.acme.shop.domain.payment.Payment;
+import com.acme.shop.domain.payment.PaymentStatusChangedEvent;
 import com.acme.shop.ports.in.PaymentUseCases;
+import com.acme.shop.ports.out.BusinessIdGenerator;
+import com.acme.shop.ports.out.DomainEventPublisher;
 import com.acme.shop.ports.out.OrderRepository;
 import com.acme.shop.ports.out.PaymentGateway;
 import com.acme.shop.ports.out.PaymentRepository;
-import java.util.UUID;
 
 public class PaymentApplicationService implements PaymentUseCases {
 
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
     private final PaymentGateway paymentGateway;
+    private final BusinessIdGenerator idGenerator;
+    private final DomainEventPublisher eventPublisher;
 
     public PaymentApplicationService(
             PaymentRepository paymentRepository,
             OrderRepository orderRepository,
-            PaymentGateway paymentGateway) {
+            PaymentGateway paymentGateway,
+            BusinessIdGenerator idGenerator,
+            DomainEventPublisher eventPublisher) {
         this.paymentRepository = paymentRepository;
         this.orderRepository = orderRepository;
         this.paymentGateway = paymentGateway;
+        this.idGenerator = idGenerator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -35,7 +44,7 @@ public class PaymentApplicationService implements PaymentUseCases {
             throw new IllegalStateException("Order must be in PLACED status to process payment");
         }
 
-        String paymentReference = "PAY-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        String paymentReference = idGenerator.nextId("PAY");
         Payment payment = Payment.create(paymentReference, orderId, order.getTotalAmount(), paymentMethod);
         Payment saved = paymentRepository.save(payment);
 
@@ -43,16 +52,19 @@ public class PaymentApplicationService implements PaymentUseCases {
                 saved.getPaymentReference(), order.getTotalAmount(), paymentMethod);
 
         if (success) {
-            String transactionId = "TXN-" + UUID.randomUUID().toString().substring(0, 12).toUpperCase();
+            String transactionId = idGenerator.nextId("TXN");
             saved.authorize(transactionId);
 
             order.markPaid();
             orderRepository.save(order);
+            eventPublisher.publish(OrderStatusChangedEvent.now(order));
         } else {
             saved.fail("Authorization declined");
         }
 
-        return paymentRepository.save(saved);
+        Payment processed = paymentRepository.save(saved);
+        eventPublisher.publish(PaymentStatusChangedEvent.now(processed));
+        return processed;
     }
 
     @Override
@@ -68,6 +80,8 @@ public class PaymentApplicationService implements PaymentUseCases {
             payment.fail("Capture failed");
         }
 
-        return paymentRepository.save(payment);
+        Payment captured = paymentRepository.save(payment);
+        eventPublisher.publish(PaymentStatusChangedEvent.now(captured));
+        return captured;
     }
 }
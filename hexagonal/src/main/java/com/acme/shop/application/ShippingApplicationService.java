@@ -4,29 +4,36 @@ import com.acme.shop.domain.order.Address;
 import com.acme.shop.domain.order.Money;
 import com.acme.shop.domain.order.Order;
 import com.acme.shop.domain.order.OrderId;
-import com.acme.shop.domain.order.OrderLine;
 import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.domain.order.OrderStatusChangedEvent;
 import com.acme.shop.domain.shipping.Shipment;
 import com.acme.shop.ports.in.InventoryUseCases;
 import com.acme.shop.ports.in.ShippingUseCases;
+import com.acme.shop.ports.out.BusinessIdGenerator;
+import com.acme.shop.ports.out.DomainEventPublisher;
 import com.acme.shop.ports.out.OrderRepository;
 import com.acme.shop.ports.out.ShipmentRepository;
 import java.math.BigDecimal;
-import java.util.UUID;
 
 public class ShippingApplicationService implements ShippingUseCases {
 
     private final ShipmentRepository shipmentRepository;
     private final OrderRepository orderRepository;
     private final InventoryUseCases inventoryUseCases;
+    private final BusinessIdGenerator idGenerator;
+    private final DomainEventPublisher eventPublisher;
 
     public ShippingApplicationService(
             ShipmentRepository shipmentRepository,
             OrderRepository orderRepository,
-            InventoryUseCases inventoryUseCases) {
+            InventoryUseCases inventoryUseCases,
+            BusinessIdGenerator idGenerator,
+            DomainEventPublisher eventPublisher) {
         this.shipmentRepository = shipmentRepository;
         this.orderRepository = orderRepository;
         this.inventoryUseCases = inventoryUseCases;
+        this.idGenerator = idGenerator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -39,10 +46,9 @@ public class ShippingApplicationService implements ShippingUseCases {
             throw new IllegalStateException("Order must be PAID to create shipment");
         }
 
-        String trackingNumber = "TRACK-" + UUID.randomUUID().toString().substring(0, 10).toUpperCase();
-        Money shippingCost = Money.of(
-                BigDecimal.valueOf(5.99).multiply(BigDecimal.valueOf(order.getLines().size())),
-                order.getTotalAmount().currency());
+        String trackingNumber = idGenerator.nextId("TRACK");
+        Money shippingCost = Money.of(BigDecimal.valueOf(5.99), order.getTotalAmount().currency())
+                .multiply(order.getLines().size());
         Address destination = order.getShippingAddress();
 
         Shipment shipment = Shipment.create(trackingNumber, orderId, carrier, shippingCost, destination);
@@ -59,13 +65,12 @@ public class ShippingApplicationService implements ShippingUseCases {
                 .findById(shipment.getOrderId())
                 .orElseThrow(() -> new IllegalStateException("Order not found for shipment"));
 
-        for (OrderLine line : order.getLines()) {
-            inventoryUseCases.shipStock(line.getProductId(), line.getQuantity().value());
-        }
+        inventoryUseCases.shipStock(order.quantitiesByProduct());
 
         shipment.ship();
         order.markShipped();
         orderRepository.save(order);
+        eventPublisher.publish(OrderStatusChangedEvent.now(order));
 
         return shipmentRepository.save(shipment);
     }
@@ -83,6 +88,7 @@ public class ShippingApplicationService implements ShippingUseCases {
         shipment.markDelivered();
         order.markDelivered();
         orderRepository.save(order);
+        eventPublisher.publish(OrderStatusChangedEvent.now(order));
 
         return shipmentRepository.save(shipment);
     }
@@ -0,0 +1,13 @@
+package com.acme.shop.domain.customer;
+
+import java.time.Instant;
+
+public record CustomerRenamedEvent(
+        CustomerId customerId,
+        String fullName,
+        Instant occurredAt) {
+
+    public static CustomerRenamedEvent now(Customer customer) {
+        return new CustomerRenamedEvent(customer.getId(), customer.getFullName(), Instant.now());
+    }
+}
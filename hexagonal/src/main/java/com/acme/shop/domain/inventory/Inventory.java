@@ -1,9 +1,7 @@
 package com.acme.shop.domain.inventory;
 
 import com.acme.shop.domain.product.ProductId;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.time.LocalDateTime;
 
 public class Inventory {
 
@@ -12,53 +10,106 @@ public class Inventory {
     private int quantityOnHand;
     private int reservedQuantity;
     private int reorderThreshold;
-    private final List<StockMovement> movements = new ArrayList<>();
+    private int movementsSinceSnapshot;
+    private final Long version;
 
     public Inventory(InventoryId id, ProductId productId, int quantityOnHand,
-                     int reservedQuantity, int reorderThreshold, List<StockMovement> movements) {
+                     int reservedQuantity, int reorderThreshold, int movementsSinceSnapshot,
+                     Long version) {
         this.id = id;
         this.productId = productId;
         this.quantityOnHand = quantityOnHand;
         this.reservedQuantity = reservedQuantity;
         this.reorderThreshold = reorderThreshold;
-        if (movements != null) {
-            this.movements.addAll(movements);
-        }
+        this.movementsSinceSnapshot = movementsSinceSnapshot;
+        this.version = version;
     }
 
     public static Inventory initialize(ProductId productId, int initialQuantity) {
-        Inventory inventory = new Inventory(null, productId, initialQuantity, 0, 10, null);
-        inventory.addMovement(StockMovement.MovementType.RECEIVED, initialQuantity, "Initial stock");
-        return inventory;
+        return new Inventory(null, productId, initialQuantity, 0, 10, 1, null);
+    }
+
+    public StockMovement initialMovement() {
+        return StockMovement.create(productId, StockMovement.MovementType.RECEIVED, quantityOnHand, "Initial stock");
+    }
+
+    public StockMovement receive(int qty, String reason) {
+        if (qty <= 0) {
+            throw new IllegalArgumentException("Received quantity must be positive: " + qty);
+        }
+        this.quantityOnHand += qty;
+        return movement(StockMovement.MovementType.RECEIVED, qty, reason);
     }
 
-    public void reserve(int qty) {
+    public StockMovement adjust(int delta, String reason) {
+        if (delta == 0) {
+            throw new IllegalArgumentException("Adjustment must not be zero");
+        }
+        if (quantityOnHand + delta < 0) {
+            throw new IllegalStateException("Adjustment of " + delta + " would take product " + productId
+                    + " below zero: onHand=" + quantityOnHand);
+        }
+        this.quantityOnHand += delta;
+        return movement(StockMovement.MovementType.ADJUSTED, delta, reason);
+    }
+
+    public StockMovement reserve(int qty) {
         if (getAvailableQuantity() < qty) {
             throw new IllegalStateException(
                     "Insufficient stock for product " + productId + ": available=" + getAvailableQuantity()
                             + ", requested=" + qty);
         }
         this.reservedQuantity += qty;
-        addMovement(StockMovement.MovementType.RESERVED, qty, "Order reservation");
+        return movement(StockMovement.MovementType.RESERVED, qty, "Order reservation");
     }
 
-    public void release(int qty) {
+    public StockMovement release(int qty) {
         this.reservedQuantity = Math.max(0, this.reservedQuantity - qty);
-        addMovement(StockMovement.MovementType.RELEASED, qty, "Order cancellation");
+        return movement(StockMovement.MovementType.RELEASED, qty, "Order cancellation");
     }
 
-    public void ship(int qty) {
+    public StockMovement ship(int qty) {
         this.quantityOnHand -= qty;
         this.reservedQuantity = Math.max(0, this.reservedQuantity - qty);
-        addMovement(StockMovement.MovementType.SHIPPED, qty, "Order shipped");
+        return movement(StockMovement.MovementType.SHIPPED, qty, "Order shipped");
+    }
+
+    public StockMovement allocateToBuckets(int qty) {
+        if (getAvailableQuantity() < qty) {
+            throw new IllegalStateException("Cannot allocate " + qty + " units of product " + productId
+                    + " to stock buckets: available=" + getAvailableQuantity());
+        }
+        this.reservedQuantity += qty;
+        return movement(StockMovement.MovementType.ALLOCATED, qty, "Allocated to stock buckets");
+    }
+
+    /**
+     * Takes back what is left in the stock buckets. {@code bucketMovements} counts the
+     * reservations and releases the buckets served, which never touched this record but
+     * are part of its history since the last snapshot.
+     */
+    public StockMovement returnFromBuckets(int qty, int bucketMovements) {
+        this.reservedQuantity = Math.max(0, this.reservedQuantity - qty);
+        this.movementsSinceSnapshot += bucketMovements;
+        return movement(StockMovement.MovementType.RETURNED, qty, "Returned from stock buckets");
     }
 
     public int getAvailableQuantity() {
         return quantityOnHand - reservedQuantity;
     }
 
-    private void addMovement(StockMovement.MovementType type, int quantity, String reason) {
-        movements.add(StockMovement.create(type, quantity, reason));
+    public boolean isSnapshotDue(int interval) {
+        return movementsSinceSnapshot >= interval;
+    }
+
+    public StockSnapshot takeSnapshot() {
+        this.movementsSinceSnapshot = 0;
+        return new StockSnapshot(productId, quantityOnHand, reservedQuantity, LocalDateTime.now());
+    }
+
+    private StockMovement movement(StockMovement.MovementType type, int quantity, String reason) {
+        movementsSinceSnapshot++;
+        return StockMovement.create(productId, type, quantity, reason);
     }
 
     public InventoryId getId() { return id; }
@@ -67,5 +118,6 @@ public class Inventory {
     public int getQuantityOnHand() { return quantityOnHand; }
     public int getReservedQuantity() { return reservedQuantity; }
     public int getReorderThreshold() { return reorderThreshold; }
-    public List<StockMovement> getMovements() { return Collections.unmodifiableList(movements); }
+    public int getMovementsSinceSnapshot() { return movementsSinceSnapshot; }
+    public Long getVersion() { return version; }
 }
@@ -0,0 +1,15 @@
+package com.acme.shop.domain.inventory;
+
+import com.acme.shop.domain.product.ProductId;
+import java.time.Instant;
+
+public record LowStockAlert(ProductId productId, int availableQuantity, int reorderThreshold, Instant detectedAt) {
+
+    public static boolean isLow(int availableQuantity, int reorderThreshold) {
+        return availableQuantity <= reorderThreshold;
+    }
+
+    public int shortfall() {
+        return Math.max(0, reorderThreshold - availableQuantity);
+    }
+}
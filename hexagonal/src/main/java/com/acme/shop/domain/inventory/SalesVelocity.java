@@ -0,0 +1,54 @@
+package com.acme.shop.domain.inventory;
+
+import com.acme.shop.domain.product.ProductId;
+
+public record SalesVelocity(
+        ProductId productId,
+        long reservedLastHour,
+        long reservedLastDay,
+        long reservedLast28Days,
+        long releasedLastHour,
+        long releasedLastDay,
+        long releasedLast28Days,
+        long shippedLastHour,
+        long shippedLastDay,
+        long shippedLast28Days,
+        int availableQuantity) {
+
+    public static final int DAYS = 28;
+
+    public static SalesVelocity none(ProductId productId) {
+        return new SalesVelocity(productId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public SalesVelocity withAvailableQuantity(int availableQuantity) {
+        return new SalesVelocity(productId, reservedLastHour, reservedLastDay, reservedLast28Days,
+                releasedLastHour, releasedLastDay, releasedLast28Days,
+                shippedLastHour, shippedLastDay, shippedLast28Days, availableQuantity);
+    }
+
+    /**
+     * Reservations that were not released again over 28 days. Cancelled and expired
+     * reservations are not demand; a release of a reservation older than the window can
+     * push the difference below zero, so it is floored there.
+     */
+    public long netReservedLast28Days() {
+        return Math.max(0, reservedLast28Days - releasedLast28Days);
+    }
+
+    public double averageDailyDemand() {
+        return (double) netReservedLast28Days() / DAYS;
+    }
+
+    /** Days the available stock lasts at the 28-day average demand; {@code null} without demand. */
+    public Double daysOfCover() {
+        double demand = averageDailyDemand();
+        return demand == 0 ? null : Math.max(0, availableQuantity) / demand;
+    }
+
+    /** Share of stock sold over 28 days: shipped / (shipped + still available). */
+    public double sellThroughRate() {
+        long denominator = shippedLast28Days + Math.max(0, availableQuantity);
+        return denominator == 0 ? 0.0 : (double) shippedLast28Days / denominator;
+    }
+}
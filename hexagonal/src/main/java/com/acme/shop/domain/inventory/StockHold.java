@@ -0,0 +1,37 @@
+package com.acme.shop.domain.inventory;
+
+import com.acme.shop.domain.product.ProductId;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public record StockHold(StockHoldId id, Map<ProductId, Integer> quantities, Instant expiresAt) {
+
+    public StockHold {
+        quantities = Map.copyOf(quantities);
+    }
+
+    public static StockHold create(StockHoldId id, Map<ProductId, Integer> quantities, Duration ttl) {
+        if (quantities.isEmpty()) {
+            throw new IllegalArgumentException("A stock hold needs at least one product");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Stock hold TTL must be positive: " + ttl);
+        }
+        return new StockHold(id, quantities, Instant.now().plus(ttl));
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public static Map<ProductId, Integer> totalQuantities(Collection<StockHold> holds) {
+        Map<ProductId, Integer> totals = new LinkedHashMap<>();
+        for (StockHold hold : holds) {
+            hold.quantities().forEach((productId, quantity) -> totals.merge(productId, quantity, Integer::sum));
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,10 @@
+package com.acme.shop.domain.inventory;
+
+public record StockHoldId(String value) {
+
+    public StockHoldId {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("StockHoldId value must not be blank");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.acme.shop.domain.inventory;
+
+import com.acme.shop.domain.product.ProductId;
+import java.time.Instant;
+
+public record StockMovedEvent(
+        ProductId productId,
+        StockMovement.MovementType type,
+        int quantity,
+        int availableQuantity,
+        int reorderThreshold,
+        Instant occurredAt) {
+
+    public static StockMovedEvent now(Inventory inventory, StockMovement.MovementType type, int quantity) {
+        return new StockMovedEvent(inventory.getProductId(), type, quantity,
+                inventory.getAvailableQuantity(), inventory.getReorderThreshold(), Instant.now());
+    }
+
+    public static StockMovedEvent now(Inventory inventory, StockMovement.MovementType type, int quantity,
+                                      int availableQuantity) {
+        return new StockMovedEvent(inventory.getProductId(), type, quantity,
+                availableQuantity, inventory.getReorderThreshold(), Instant.now());
+    }
+}
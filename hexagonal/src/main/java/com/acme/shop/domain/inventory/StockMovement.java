@@ -1,5 +1,6 @@
 package com.acme.shop.domain.inventory;
 
+import com.acme.shop.domain.product.ProductId;
 import java.time.LocalDateTime;
 
 public class StockMovement {
@@ -9,29 +10,35 @@ public class StockMovement {
         RESERVED,
         RELEASED,
         SHIPPED,
-        ADJUSTED
+        ADJUSTED,
+        ALLOCATED,
+        RETURNED
     }
 
     private Long id;
+    private final ProductId productId;
     private final MovementType type;
     private final int quantity;
     private final String reason;
     private final LocalDateTime occurredAt;
 
-    public StockMovement(Long id, MovementType type, int quantity, String reason, LocalDateTime occurredAt) {
+    public StockMovement(Long id, ProductId productId, MovementType type, int quantity, String reason,
+                         LocalDateTime occurredAt) {
         this.id = id;
+        this.productId = productId;
         this.type = type;
         this.quantity = quantity;
         this.reason = reason;
         this.occurredAt = occurredAt;
     }
 
-    public static StockMovement create(MovementType type, int quantity, String reason) {
-        return new StockMovement(null, type, quantity, reason, LocalDateTime.now());
+    public static StockMovement create(ProductId productId, MovementType type, int quantity, String reason) {
+        return new StockMovement(null, productId, type, quantity, reason, LocalDateTime.now());
     }
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+    public ProductId getProductId() { return productId; }
     public MovementType getType() { return type; }
     public int getQuantity() { return quantity; }
     public String getReason() { return reason; }
@@ -0,0 +1,53 @@
+package com.acme.shop.domain.inventory;
+
+import com.acme.shop.domain.inventory.StockMovement.MovementType;
+import com.acme.shop.domain.product.ProductId;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record StockSnapshot(
+        ProductId productId,
+        int quantityOnHand,
+        int reservedQuantity,
+        LocalDateTime takenAt) {
+
+    /**
+     * Applies the movements recorded after this snapshot, in ledger order. Reservations and
+     * releases served by stock buckets leave the counters alone, because the allocation to
+     * the buckets is already counted as reserved. Allocations and returns alternate, so the
+     * first of them tells whether the stock was in buckets when the snapshot was taken;
+     * without one it still is exactly when {@code shardedNow}.
+     */
+    public StockSnapshot replay(List<StockMovement> movements, boolean shardedNow, LocalDateTime at) {
+        boolean sharded = shardedNow;
+        for (StockMovement movement : movements) {
+            if (movement.getType() == MovementType.ALLOCATED || movement.getType() == MovementType.RETURNED) {
+                sharded = movement.getType() == MovementType.RETURNED;
+                break;
+            }
+        }
+        int onHand = quantityOnHand;
+        int reserved = reservedQuantity;
+        for (StockMovement movement : movements) {
+            int quantity = movement.getQuantity();
+            switch (movement.getType()) {
+                case RECEIVED, ADJUSTED -> onHand += quantity;
+                case RESERVED -> reserved += sharded ? 0 : quantity;
+                case RELEASED -> reserved = sharded ? reserved : Math.max(0, reserved - quantity);
+                case SHIPPED -> {
+                    onHand -= quantity;
+                    reserved = Math.max(0, reserved - quantity);
+                }
+                case ALLOCATED -> {
+                    reserved += quantity;
+                    sharded = true;
+                }
+                case RETURNED -> {
+                    reserved = Math.max(0, reserved - quantity);
+                    sharded = false;
+                }
+            }
+        }
+        return new StockSnapshot(productId, onHand, reserved, at);
+    }
+}
@@ -2,17 +2,30 @@ package com.acme.shop.domain.order;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Objects;
 
-public record Money(BigDecimal amount, String currency) {
+/**
+ * An amount in minor units (cents) of a currency. Arithmetic stays on {@code long} and
+ * throws {@link ArithmeticException} on overflow; {@link #amount()} converts to a
+ * two-decimal {@link BigDecimal} for persistence and the REST layer.
+ */
+public final class Money {
 
-    public Money {
-        if (amount == null) {
-            throw new IllegalArgumentException("Amount must not be null");
-        }
+    private static final int SCALE = 2;
+
+    private final long minorUnits;
+    private final String currency;
+
+    public Money(BigDecimal amount, String currency) {
+        this(toMinorUnits(amount), currency);
+    }
+
+    private Money(long minorUnits, String currency) {
         if (currency == null || currency.isBlank()) {
             throw new IllegalArgumentException("Currency must not be null or blank");
         }
-        amount = amount.setScale(2, RoundingMode.HALF_UP);
+        this.minorUnits = minorUnits;
+        this.currency = currency;
     }
 
     public static Money of(BigDecimal amount, String currency) {
@@ -20,16 +33,28 @@ public record Money(BigDecimal amount, String currency) {
     }
 
     public static Money zero(String currency) {
-        return new Money(BigDecimal.ZERO, currency);
+        return new Money(0L, currency);
+    }
+
+    public BigDecimal amount() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public String currency() {
+        return currency;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
     }
 
     public Money add(Money other) {
         requireSameCurrency(other);
-        return new Money(this.amount.add(other.amount), this.currency);
+        return new Money(Math.addExact(this.minorUnits, other.minorUnits), this.currency);
     }
 
     public Money multiply(int quantity) {
-        return new Money(this.amount.multiply(BigDecimal.valueOf(quantity)), this.currency);
+        return new Money(Math.multiplyExact(this.minorUnits, quantity), this.currency);
     }
 
     private void requireSameCurrency(Money other) {
@@ -38,4 +63,27 @@ public record Money(BigDecimal amount, String currency) {
                     "Cannot operate on different currencies: " + this.currency + " vs " + other.currency);
         }
     }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount must not be null");
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o
+                || o instanceof Money other && minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minorUnits, currency);
+    }
+
+    @Override
+    public String toString() {
+        return "Money[amount=" + amount() + ", currency=" + currency + "]";
+    }
 }
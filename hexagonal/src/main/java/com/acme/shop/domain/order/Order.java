@@ -1,10 +1,13 @@
 package com.acme.shop.domain.order;
 
 import com.acme.shop.domain.customer.CustomerId;
+import com.acme.shop.domain.product.ProductId;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Order {
 
@@ -21,11 +24,14 @@ public class Order {
     private LocalDateTime deliveredAt;
     private LocalDateTime cancelledAt;
     private String cancellationReason;
+    private final String idempotencyKey;
+    private final Long version;
 
     public Order(OrderId id, String orderNumber, CustomerId customerId, OrderStatus status,
                  Money totalAmount, Address shippingAddress, List<OrderLine> lines,
                  LocalDateTime placedAt, LocalDateTime paidAt, LocalDateTime shippedAt,
-                 LocalDateTime deliveredAt, LocalDateTime cancelledAt, String cancellationReason) {
+                 LocalDateTime deliveredAt, LocalDateTime cancelledAt, String cancellationReason,
+                 String idempotencyKey, Long version) {
         this.id = id;
         this.orderNumber = orderNumber;
         this.customerId = customerId;
@@ -41,12 +47,18 @@ public class Order {
         this.deliveredAt = deliveredAt;
         this.cancelledAt = cancelledAt;
         this.cancellationReason = cancellationReason;
+        this.idempotencyKey = idempotencyKey;
+        this.version = version;
     }
 
     public static Order create(String orderNumber, CustomerId customerId, String currency) {
+        return create(orderNumber, customerId, currency, null);
+    }
+
+    public static Order create(String orderNumber, CustomerId customerId, String currency, String idempotencyKey) {
         return new Order(null, orderNumber, customerId, OrderStatus.DRAFT,
                 Money.zero(currency), null, null,
-                null, null, null, null, null, null);
+                null, null, null, null, null, null, idempotencyKey, null);
     }
 
     public void addLine(OrderLine line) {
@@ -54,7 +66,19 @@ public class Order {
             throw new IllegalStateException("Cannot add lines to a non-DRAFT order");
         }
         lines.add(line);
-        recalculateTotal();
+        this.totalAmount = totalAmount.add(line.getLineTotal());
+    }
+
+    public void addLines(List<OrderLine> newLines) {
+        if (status != OrderStatus.DRAFT) {
+            throw new IllegalStateException("Cannot add lines to a non-DRAFT order");
+        }
+        Money total = totalAmount;
+        for (OrderLine line : newLines) {
+            total = total.add(line.getLineTotal());
+        }
+        lines.addAll(newLines);
+        this.totalAmount = total;
     }
 
     public OrderPlacedEvent place(Address shippingAddress) {
@@ -103,12 +127,12 @@ public class Order {
         this.cancellationReason = reason;
     }
 
-    private void recalculateTotal() {
-        Money total = Money.zero(totalAmount.currency());
+    public Map<ProductId, Integer> quantitiesByProduct() {
+        Map<ProductId, Integer> quantities = new LinkedHashMap<>();
         for (OrderLine line : lines) {
-            total = total.add(line.getLineTotal());
+            quantities.merge(line.getProductId(), line.getQuantity().value(), Integer::sum);
         }
-        this.totalAmount = total;
+        return quantities;
     }
 
     public OrderId getId() { return id; }
@@ -125,4 +149,6 @@ public class Order {
     public LocalDateTime getDeliveredAt() { return deliveredAt; }
     public LocalDateTime getCancelledAt() { return cancelledAt; }
     public String getCancellationReason() { return cancellationReason; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public Long getVersion() { return version; }
 }
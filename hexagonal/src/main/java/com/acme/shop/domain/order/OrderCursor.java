@@ -0,0 +1,12 @@
+package com.acme.shop.domain.order;
+
+import java.time.LocalDateTime;
+
+public record OrderCursor(LocalDateTime placedAt, OrderId orderId) {
+
+    public OrderCursor {
+        if (placedAt == null || orderId == null) {
+            throw new IllegalArgumentException("Cursor needs both placedAt and orderId");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.acme.shop.domain.order;
+
+import java.time.LocalDateTime;
+
+public record OrderHistoryEntry(
+        OrderId orderId,
+        String orderNumber,
+        OrderStatus status,
+        Money totalAmount,
+        int lineCount,
+        LocalDateTime placedAt) {
+
+    public OrderCursor cursor() {
+        return new OrderCursor(placedAt, orderId);
+    }
+}
@@ -12,4 +12,8 @@ public record OrderPlacedEvent(
     public static OrderPlacedEvent now(OrderId orderId, CustomerId customerId, Money totalAmount) {
         return new OrderPlacedEvent(orderId, customerId, totalAmount, Instant.now());
     }
+
+    public OrderPlacedEvent withOrderId(OrderId orderId) {
+        return new OrderPlacedEvent(orderId, customerId, totalAmount, occurredAt);
+    }
 }
@@ -0,0 +1,14 @@
+package com.acme.shop.domain.order;
+
+import java.time.Instant;
+
+public record OrderStatusChangedEvent(
+        OrderId orderId,
+        String orderNumber,
+        OrderStatus status,
+        Instant occurredAt) {
+
+    public static OrderStatusChangedEvent now(Order order) {
+        return new OrderStatusChangedEvent(order.getId(), order.getOrderNumber(), order.getStatus(), Instant.now());
+    }
+}
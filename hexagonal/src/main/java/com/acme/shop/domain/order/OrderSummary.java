@@ -0,0 +1,29 @@
+package com.acme.shop.domain.order;
+
+import com.acme.shop.domain.customer.CustomerId;
+import java.time.LocalDateTime;
+
+public record OrderSummary(
+        OrderId orderId,
+        String orderNumber,
+        CustomerId customerId,
+        String customerName,
+        OrderStatus status,
+        Money totalAmount,
+        int lineCount,
+        LocalDateTime placedAt,
+        LocalDateTime updatedAt) {
+
+    public static OrderSummary of(Order order, String customerName) {
+        return new OrderSummary(
+                order.getId(),
+                order.getOrderNumber(),
+                order.getCustomerId(),
+                customerName,
+                order.getStatus(),
+                order.getTotalAmount(),
+                order.getLines().size(),
+                order.getPlacedAt(),
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,15 @@
+package com.acme.shop.domain.payment;
+
+import com.acme.shop.domain.order.OrderId;
+import java.time.Instant;
+
+public record PaymentStatusChangedEvent(
+        PaymentId paymentId,
+        OrderId orderId,
+        PaymentStatus status,
+        Instant occurredAt) {
+
+    public static PaymentStatusChangedEvent now(Payment payment) {
+        return new PaymentStatusChangedEvent(payment.getId(), payment.getOrderId(), payment.getStatus(), Instant.now());
+    }
+}
@@ -28,7 +28,7 @@ public class Product {
     }
 
     public void updatePrice(Money newPrice) {
-        if (newPrice.amount().signum() <= 0) {
+        if (!newPrice.isPositive()) {
             throw new IllegalArgumentException("Price must be positive");
         }
         this.price = newPrice;
@@ -0,0 +1,63 @@
+package com.acme.shop.infrastructure.batch;
+
+import com.acme.shop.domain.inventory.StockHoldId;
+import com.acme.shop.infrastructure.inventory.TimingWheelHoldScheduler;
+import com.acme.shop.ports.in.InventoryUseCases;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains holds that the timing wheel reports as expired and releases them in batches,
+ * one transaction and one aggregated inventory update per product and batch.
+ */
+@Component
+public class ExpiredHoldReleaser {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiredHoldReleaser.class);
+
+    private final TimingWheelHoldScheduler holdScheduler;
+    private final InventoryUseCases inventoryUseCases;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final AtomicLong released = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    public ExpiredHoldReleaser(
+            TimingWheelHoldScheduler holdScheduler,
+            InventoryUseCases inventoryUseCases,
+            @Value("${shop.inventory.holds.release-batch-size:500}") int batchSize,
+            @Value("${shop.inventory.holds.retry-delay:PT30S}") Duration retryDelay) {
+        this.holdScheduler = holdScheduler;
+        this.inventoryUseCases = inventoryUseCases;
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.inventory.holds.tick:PT1S}")
+    public void releaseExpired() {
+        List<StockHoldId> batch;
+        while (!(batch = holdScheduler.pollExpired(batchSize)).isEmpty()) {
+            try {
+                released.addAndGet(inventoryUseCases.releaseExpiredHolds(batch));
+                batches.incrementAndGet();
+            } catch (RuntimeException e) {
+                failedBatches.incrementAndGet();
+                log.warn("Failed to release {} expired stock holds, retrying in {}", batch.size(), retryDelay, e);
+                Instant retryAt = Instant.now().plus(retryDelay);
+                batch.forEach(holdId -> holdScheduler.schedule(holdId, retryAt));
+            }
+        }
+    }
+
+    public long getReleasedCount() { return released.get(); }
+    public long getBatchCount() { return batches.get(); }
+    public long getFailedBatchCount() { return failedBatches.get(); }
+}
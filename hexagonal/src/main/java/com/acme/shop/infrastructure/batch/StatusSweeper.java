@@ -0,0 +1,131 @@
+package com.acme.shop.infrastructure.batch;
+
+import com.acme.shop.domain.order.Order;
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.domain.payment.Payment;
+import com.acme.shop.domain.payment.PaymentId;
+import com.acme.shop.domain.payment.PaymentStatus;
+import com.acme.shop.ports.out.OrderRepository;
+import com.acme.shop.ports.out.PaymentRepository;
+import com.acme.shop.ports.out.StatusScanQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Walks every order or payment in a given status in id order, one chunk per
+ * transaction. Only one chunk is held in memory, and a failure leaves every
+ * earlier chunk committed; the returned progress can be passed back as
+ * {@code after} to resume.
+ */
+@Component
+public class StatusSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusSweeper.class);
+
+    private final StatusScanQuery statusScanQuery;
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public StatusSweeper(
+            StatusScanQuery statusScanQuery,
+            OrderRepository orderRepository,
+            PaymentRepository paymentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${shop.sweeps.chunk-size:1000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Sweep chunk size must be positive: " + chunkSize);
+        }
+        this.statusScanQuery = statusScanQuery;
+        this.orderRepository = orderRepository;
+        this.paymentRepository = paymentRepository;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    public SweepProgress<OrderId> sweepOrders(OrderStatus status, Consumer<List<Order>> chunkProcessor) {
+        return sweepOrders(status, null, chunkProcessor);
+    }
+
+    public SweepProgress<OrderId> sweepOrders(OrderStatus status, OrderId after,
+                                              Consumer<List<Order>> chunkProcessor) {
+        return sweep("orders " + status, after,
+                (cursor, limit) -> statusScanQuery.findOrderIdsByStatus(status, cursor, limit),
+                orderRepository::findAllById,
+                Comparator.comparing((Order order) -> order.getId().value()),
+                chunkProcessor);
+    }
+
+    public SweepProgress<OrderId> sweepOrderIdsPlacedBefore(OrderStatus status, LocalDateTime placedBefore,
+                                                            Consumer<List<OrderId>> chunkProcessor) {
+        return sweep("orders " + status + " placed before " + placedBefore, null,
+                (cursor, limit) -> statusScanQuery.findOrderIdsByStatusPlacedBefore(status, placedBefore, cursor, limit),
+                Function.identity(),
+                null,
+                chunkProcessor);
+    }
+
+    public SweepProgress<PaymentId> sweepPayments(PaymentStatus status, Consumer<List<Payment>> chunkProcessor) {
+        return sweepPayments(status, null, chunkProcessor);
+    }
+
+    public SweepProgress<PaymentId> sweepPayments(PaymentStatus status, PaymentId after,
+                                                  Consumer<List<Payment>> chunkProcessor) {
+        return sweep("payments " + status, after,
+                (cursor, limit) -> statusScanQuery.findPaymentIdsByStatus(status, cursor, limit),
+                paymentRepository::findAllById,
+                Comparator.comparing((Payment payment) -> payment.getId().value()),
+                chunkProcessor);
+    }
+
+    public int getChunkSize() { return chunkSize; }
+
+    private <K, T> SweepProgress<K> sweep(String name, K after, BiFunction<K, Integer, List<K>> nextKeys,
+                                          Function<List<K>, List<T>> load, Comparator<T> order,
+                                          Consumer<List<T>> chunkProcessor) {
+        long startedAt = System.nanoTime();
+        SweepProgress<K> progress = new SweepProgress<>(after, 0, 0);
+        while (true) {
+            K cursor = progress.lastKey();
+            List<K> keys = chunkTransaction.execute(tx -> {
+                List<K> chunkKeys = nextKeys.apply(cursor, chunkSize);
+                if (!chunkKeys.isEmpty()) {
+                    List<T> items = new ArrayList<>(load.apply(chunkKeys));
+                    if (order != null) {
+                        items.sort(order);
+                    }
+                    chunkProcessor.accept(items);
+                }
+                return chunkKeys;
+            });
+            if (keys == null || keys.isEmpty()) {
+                break;
+            }
+            progress = new SweepProgress<>(keys.get(keys.size() - 1), progress.chunks() + 1,
+                    progress.items() + keys.size());
+            if (keys.size() < chunkSize) {
+                break;
+            }
+        }
+        log.info("Swept {} {} in {} chunks ({} ms)", progress.items(), name, progress.chunks(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return progress;
+    }
+
+    public record SweepProgress<K>(K lastKey, long chunks, long items) {}
+}
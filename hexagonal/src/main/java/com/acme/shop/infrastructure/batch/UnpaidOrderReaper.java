@@ -0,0 +1,83 @@
+package com.acme.shop.infrastructure.batch;
+
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.infrastructure.batch.StatusSweeper.SweepProgress;
+import com.acme.shop.ports.in.OrderUseCases;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cancels orders that stayed PLACED without payment for longer than the configured
+ * TTL, one sweep chunk per transaction, releasing their reservations with a single
+ * aggregated inventory update per product and chunk.
+ */
+@Component
+@ConditionalOnProperty(name = "shop.orders.reaper.enabled", havingValue = "true", matchIfMissing = true)
+public class UnpaidOrderReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(UnpaidOrderReaper.class);
+
+    private final StatusSweeper statusSweeper;
+    private final OrderUseCases orderUseCases;
+    private final Duration unpaidTtl;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+    private volatile long lastRunCancelled;
+    private volatile long lastRunMillis;
+
+    public UnpaidOrderReaper(
+            StatusSweeper statusSweeper,
+            OrderUseCases orderUseCases,
+            @Value("${shop.orders.reaper.unpaid-ttl:PT30M}") Duration unpaidTtl) {
+        this.statusSweeper = statusSweeper;
+        this.orderUseCases = orderUseCases;
+        this.unpaidTtl = unpaidTtl;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.orders.reaper.interval:PT1M}")
+    public void reap() {
+        LocalDateTime placedBefore = LocalDateTime.now().minus(unpaidTtl);
+        long startedAt = System.nanoTime();
+        AtomicLong runCancelled = new AtomicLong();
+        try {
+            SweepProgress<OrderId> progress = statusSweeper.sweepOrderIdsPlacedBefore(OrderStatus.PLACED, placedBefore,
+                    orderIds -> runCancelled.addAndGet(orderUseCases.cancelUnpaidOrders(orderIds, placedBefore)));
+            scanned.addAndGet(progress.items());
+        } catch (RuntimeException e) {
+            failedRuns.incrementAndGet();
+            log.warn("Unpaid order reaper stopped after cancelling {} orders, remaining orders will be retried",
+                    runCancelled.get(), e);
+        } finally {
+            runs.incrementAndGet();
+            cancelled.addAndGet(runCancelled.get());
+            lastRunCancelled = runCancelled.get();
+            lastRunMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        }
+        if (runCancelled.get() > 0) {
+            log.info("Cancelled {} unpaid orders placed before {} in {} ms", runCancelled.get(), placedBefore,
+                    lastRunMillis);
+        }
+    }
+
+    public long getRunCount() { return runs.get(); }
+    public long getScannedCount() { return scanned.get(); }
+    public long getCancelledCount() { return cancelled.get(); }
+    public long getFailedRunCount() { return failedRuns.get(); }
+    public long getLastRunCancelled() { return lastRunCancelled; }
+    public long getLastRunMillis() { return lastRunMillis; }
+
+    public double getLastRunThroughputPerSecond() {
+        long millis = lastRunMillis;
+        return millis == 0 ? 0.0 : lastRunCancelled * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,206 @@
+package com.acme.shop.infrastructure.cache;
+
+import com.acme.shop.domain.customer.CustomerId;
+import com.acme.shop.domain.order.Order;
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderLine;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.ports.out.OrderRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Near cache in front of {@link OrderRepository#findByOrderNumber}. Saved orders are
+ * evicted immediately and re-cached once their transaction commits, so freshly placed
+ * orders are served from memory and a rolled-back write never leaks into the cache.
+ * Orders are copied on the way in and out because the aggregate is mutable.
+ *
+ * <p>Commit callbacks of concurrent transactions may run in any order, so a snapshot only
+ * replaces a cached order whose status is not further along; statuses only move forward.
+ * Writes that do not go through {@link #save} report themselves through
+ * {@link #invalidateIfBehind}, which {@link OrderCacheInvalidator} calls for every
+ * committed status change.
+ */
+public class CachingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+    private long invalidations;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CachingOrderRepository(OrderRepository delegate, int maxEntries, Duration ttl) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = Clock.systemUTC();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > CachingOrderRepository.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Optional<Order> findByOrderNumber(String orderNumber) {
+        long generation;
+        synchronized (this) {
+            Entry entry = entries.get(orderNumber);
+            if (entry != null && entry.expiresAt().isAfter(clock.instant())) {
+                hits.incrementAndGet();
+                return Optional.of(copyOf(entry.order()));
+            }
+            if (entry != null) {
+                entries.remove(orderNumber);
+            }
+            generation = invalidations;
+        }
+        misses.incrementAndGet();
+        Optional<Order> loaded = delegate.findByOrderNumber(orderNumber);
+        loaded.ifPresent(order -> putIfUnchanged(order, generation));
+        return loaded;
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order saved = delegate.save(order);
+        refreshAfterCommit(List.of(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = delegate.saveAll(orders);
+        refreshAfterCommit(saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Optional<Order> findByIdempotencyKey(String idempotencyKey) {
+        return delegate.findByIdempotencyKey(idempotencyKey);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return delegate.findByStatus(status);
+    }
+
+    public synchronized void invalidate(String orderNumber) {
+        invalidations++;
+        entries.remove(orderNumber);
+    }
+
+    /**
+     * Evicts the cached order unless it already reflects {@code status}, so the cache never
+     * serves a status older than one that was committed.
+     */
+    public synchronized void invalidateIfBehind(String orderNumber, OrderStatus status) {
+        Entry entry = entries.get(orderNumber);
+        if (entry != null && entry.order().getStatus().compareTo(status) < 0) {
+            invalidations++;
+            entries.remove(orderNumber);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+    }
+
+    public synchronized int getSize() { return entries.size(); }
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private void refreshAfterCommit(List<Order> saved) {
+        List<Order> snapshots = new ArrayList<>(saved.size());
+        synchronized (this) {
+            invalidations++;
+            for (Order order : saved) {
+                entries.remove(order.getOrderNumber());
+                snapshots.add(copyOf(order));
+            }
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(snapshots);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(snapshots);
+            }
+        });
+    }
+
+    private synchronized void put(List<Order> snapshots) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        for (Order snapshot : snapshots) {
+            Entry current = entries.get(snapshot.getOrderNumber());
+            if (current != null && current.order().getStatus().compareTo(snapshot.getStatus()) > 0) {
+                continue;
+            }
+            entries.put(snapshot.getOrderNumber(), new Entry(snapshot, expiresAt));
+        }
+    }
+
+    private synchronized void putIfUnchanged(Order order, long generation) {
+        if (invalidations == generation) {
+            entries.put(order.getOrderNumber(), new Entry(copyOf(order), clock.instant().plus(ttl)));
+        }
+    }
+
+    private static Order copyOf(Order order) {
+        List<OrderLine> lines = new ArrayList<>(order.getLines().size());
+        for (OrderLine line : order.getLines()) {
+            lines.add(new OrderLine(line.getId(), line.getProductId(), line.getProductName(),
+                    line.getQuantity(), line.getUnitPrice()));
+        }
+        return new Order(order.getId(), order.getOrderNumber(), order.getCustomerId(), order.getStatus(),
+                order.getTotalAmount(), order.getShippingAddress(), lines, order.getPlacedAt(),
+                order.getPaidAt(), order.getShippedAt(), order.getDeliveredAt(), order.getCancelledAt(),
+                order.getCancellationReason(), order.getIdempotencyKey(), order.getVersion());
+    }
+
+    private record Entry(Order order, Instant expiresAt) {}
+}
@@ -0,0 +1,159 @@
+package com.acme.shop.infrastructure.cache;
+
+import com.acme.shop.domain.product.ProductId;
+import com.acme.shop.ports.out.AvailabilityCache;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through LRU cache of available quantity per product. Misses of a bulk lookup are
+ * loaded with one call to the loader. Stock changes evict their products immediately
+ * and once more when the transaction completes, so a reader that loaded the old value
+ * while the write was in flight cannot keep it. Each miss registers a load token for its
+ * product and an eviction of that product discards the token, so a load overlapping an
+ * invalidation of the same product is not cached, while loads of other products are.
+ * The TTL bounds staleness from writers that bypass this node. Lookups inside read-write
+ * transactions bypass the cache and read the rows.
+ */
+@Component
+public class InMemoryAvailabilityCache implements AvailabilityCache {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<ProductId, Entry> entries;
+    private final Map<ProductId, Long> loading = new HashMap<>();
+    private long loads;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public InMemoryAvailabilityCache(
+            @Value("${shop.inventory.availability-cache.max-entries:100000}") int maxEntries,
+            @Value("${shop.inventory.availability-cache.ttl:PT30S}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = Clock.systemUTC();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ProductId, Entry> eldest) {
+                if (size() > InMemoryAvailabilityCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Map<ProductId, Integer> getAll(Collection<ProductId> productIds,
+                                          Function<Collection<ProductId>, Map<ProductId, Integer>> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Writers decide on stock they are about to change, so they always read the rows
+            return loader.apply(productIds);
+        }
+        Map<ProductId, Integer> result = new HashMap<>();
+        List<ProductId> missing = new ArrayList<>();
+        long token;
+        synchronized (this) {
+            token = ++loads;
+            Instant now = clock.instant();
+            for (ProductId productId : productIds) {
+                Entry entry = entries.get(productId);
+                if (entry != null && entry.expiresAt().isAfter(now)) {
+                    result.put(productId, entry.available());
+                } else {
+                    if (entry != null) {
+                        entries.remove(productId);
+                    }
+                    missing.add(productId);
+                    loading.put(productId, token);
+                }
+            }
+        }
+        hits.addAndGet(result.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        misses.addAndGet(missing.size());
+        Map<ProductId, Integer> loaded = Map.of();
+        try {
+            loaded = loader.apply(missing);
+        } finally {
+            putIfUnchanged(missing, loaded, token);
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    @Override
+    public void invalidate(Collection<ProductId> productIds) {
+        List<ProductId> evicted = List.copyOf(productIds);
+        evict(evicted);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    // Ahead of the event bus, so consumers of the commit's events never read the old value
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    evict(evicted);
+                }
+            });
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        loading.clear();
+        entries.clear();
+    }
+
+    public synchronized int getSize() { return entries.size(); }
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private synchronized void evict(Collection<ProductId> productIds) {
+        for (ProductId productId : productIds) {
+            loading.remove(productId);
+            entries.remove(productId);
+        }
+    }
+
+    private synchronized void putIfUnchanged(List<ProductId> requested, Map<ProductId, Integer> loaded, long token) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        for (ProductId productId : requested) {
+            Integer available = loaded.get(productId);
+            if (loading.remove(productId, token) && available != null) {
+                entries.put(productId, new Entry(available, expiresAt));
+            }
+        }
+    }
+
+    private record Entry(int available, Instant expiresAt) {}
+}
@@ -0,0 +1,103 @@
+package com.acme.shop.infrastructure.cache;
+
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.ports.out.IdempotencyCache;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded, TTL-evicting map of idempotency keys to the orders they created.
+ * Keys that fall out of this cache are still resolved through
+ * {@code OrderRepository.findByIdempotencyKey}, which survives restarts. Inside a
+ * transaction a key is only completed once the order is committed; a rollback releases
+ * the claim so the client's retry can place the order again.
+ */
+@Component
+public class InMemoryIdempotencyCache implements IdempotencyCache {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    public InMemoryIdempotencyCache(
+            @Value("${shop.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${shop.idempotency.ttl:PT24H}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = Clock.systemUTC();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > InMemoryIdempotencyCache.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<OrderId> lookup(String idempotencyKey) {
+        Entry entry = liveEntry(idempotencyKey);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.orderId());
+    }
+
+    @Override
+    public synchronized boolean claim(String idempotencyKey) {
+        if (liveEntry(idempotencyKey) != null) {
+            return false;
+        }
+        entries.put(idempotencyKey, new Entry(null, clock.instant().plus(ttl)));
+        return true;
+    }
+
+    @Override
+    public void complete(String idempotencyKey, OrderId orderId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(idempotencyKey, orderId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(idempotencyKey, orderId);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(idempotencyKey);
+                }
+            }
+        });
+    }
+
+    @Override
+    public synchronized void release(String idempotencyKey) {
+        Entry entry = entries.get(idempotencyKey);
+        if (entry != null && entry.orderId() == null) {
+            entries.remove(idempotencyKey);
+        }
+    }
+
+    private synchronized void put(String idempotencyKey, OrderId orderId) {
+        entries.put(idempotencyKey, new Entry(orderId, clock.instant().plus(ttl)));
+    }
+
+    private Entry liveEntry(String idempotencyKey) {
+        Entry entry = entries.get(idempotencyKey);
+        if (entry != null && entry.expiresAt().isBefore(clock.instant())) {
+            entries.remove(idempotencyKey);
+            return null;
+        }
+        return entry;
+    }
+
+    private record Entry(OrderId orderId, Instant expiresAt) {}
+}
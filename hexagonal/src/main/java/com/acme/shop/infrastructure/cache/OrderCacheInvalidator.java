@@ -0,0 +1,24 @@
+package com.acme.shop.infrastructure.cache;
+
+import com.acme.shop.domain.order.OrderStatusChangedEvent;
+import com.acme.shop.infrastructure.events.DomainEventConsumer;
+
+/**
+ * Keeps the {@link CachingOrderRepository} in step with status changes written around it,
+ * such as conditional bulk updates. Events arrive only after their transaction commits.
+ */
+public class OrderCacheInvalidator implements DomainEventConsumer {
+
+    private final CachingOrderRepository cache;
+
+    public OrderCacheInvalidator(CachingOrderRepository cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void onEvent(Object event, boolean endOfBatch) {
+        if (event instanceof OrderStatusChangedEvent changed) {
+            cache.invalidateIfBehind(changed.orderNumber(), changed.status());
+        }
+    }
+}
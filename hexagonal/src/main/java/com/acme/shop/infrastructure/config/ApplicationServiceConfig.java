@@ -14,14 +14,29 @@ import com.acme.shop.ports.in.OrderUseCases;
 import com.acme.shop.ports.in.PaymentUseCases;
 import com.acme.shop.ports.in.ProductUseCases;
 import com.acme.shop.ports.in.ShippingUseCases;
+import com.acme.shop.ports.out.AvailabilityCache;
+import com.acme.shop.ports.out.BusinessIdGenerator;
 import com.acme.shop.ports.out.CustomerRepository;
+import com.acme.shop.ports.out.DomainEventPublisher;
+import com.acme.shop.ports.out.EventOutbox;
+import com.acme.shop.ports.out.HoldExpiryScheduler;
+import com.acme.shop.ports.out.IdempotencyCache;
+import com.acme.shop.ports.out.InventoryLocks;
 import com.acme.shop.ports.out.InventoryRepository;
+import com.acme.shop.ports.out.LowStockIndex;
 import com.acme.shop.ports.out.NotificationSender;
+import com.acme.shop.ports.out.OrderHistoryQuery;
 import com.acme.shop.ports.out.OrderRepository;
+import com.acme.shop.ports.out.OrderSummaryProjection;
+import com.acme.shop.ports.out.OrderSummaryQuery;
 import com.acme.shop.ports.out.PaymentGateway;
 import com.acme.shop.ports.out.PaymentRepository;
 import com.acme.shop.ports.out.ProductRepository;
+import com.acme.shop.ports.out.SalesVelocityIndex;
+import com.acme.shop.ports.out.ShardedStock;
 import com.acme.shop.ports.out.ShipmentRepository;
+import com.acme.shop.ports.out.StockHoldStore;
+import com.acme.shop.ports.out.StockLedger;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -34,14 +49,30 @@ public class ApplicationServiceConfig {
     }
 
     @Bean
-    public CustomerUseCases customerUseCases(CustomerRepository customerRepository) {
-        return new CustomerApplicationService(customerRepository);
+    public CustomerUseCases customerUseCases(
+            CustomerRepository customerRepository,
+            DomainEventPublisher eventPublisher) {
+        return new CustomerApplicationService(customerRepository, eventPublisher);
     }
 
     @Bean
     public InventoryUseCases inventoryUseCases(
-            InventoryRepository inventoryRepository, ProductRepository productRepository) {
-        return new InventoryApplicationService(inventoryRepository, productRepository);
+            InventoryRepository inventoryRepository,
+            ProductRepository productRepository,
+            DomainEventPublisher eventPublisher,
+            InventoryLocks inventoryLocks,
+            ShardedStock shardedStock,
+            StockLedger stockLedger,
+            StockHoldStore stockHoldStore,
+            HoldExpiryScheduler holdExpiryScheduler,
+            BusinessIdGenerator idGenerator,
+            LowStockIndex lowStockIndex,
+            AvailabilityCache availabilityCache,
+            SalesVelocityIndex salesVelocityIndex) {
+        return new InventoryApplicationService(
+                inventoryRepository, productRepository, eventPublisher, inventoryLocks, shardedStock, stockLedger,
+                stockHoldStore, holdExpiryScheduler, idGenerator, lowStockIndex, availabilityCache,
+                salesVelocityIndex);
     }
 
     @Bean
@@ -50,17 +81,29 @@ public class ApplicationServiceConfig {
             CustomerRepository customerRepository,
             ProductRepository productRepository,
             InventoryUseCases inventoryUseCases,
-            NotificationSender notificationSender) {
+            NotificationSender notificationSender,
+            IdempotencyCache idempotencyCache,
+            BusinessIdGenerator idGenerator,
+            EventOutbox eventOutbox,
+            DomainEventPublisher eventPublisher,
+            OrderHistoryQuery orderHistoryQuery,
+            OrderSummaryProjection orderSummaryProjection,
+            OrderSummaryQuery orderSummaryQuery) {
         return new OrderApplicationService(
-                orderRepository, customerRepository, productRepository, inventoryUseCases, notificationSender);
+                orderRepository, customerRepository, productRepository, inventoryUseCases, notificationSender,
+                idempotencyCache, idGenerator, eventOutbox, eventPublisher, orderHistoryQuery,
+                orderSummaryProjection, orderSummaryQuery);
     }
 
     @Bean
     public PaymentUseCases paymentUseCases(
             PaymentRepository paymentRepository,
             OrderRepository orderRepository,
-            PaymentGateway paymentGateway) {
-        return new PaymentApplicationService(paymentRepository, orderRepository, paymentGateway);
+            PaymentGateway paymentGateway,
+            BusinessIdGenerator idGenerator,
+            DomainEventPublisher eventPublisher) {
+        return new PaymentApplicationService(
+                paymentRepository, orderRepository, paymentGateway, idGenerator, eventPublisher);
     }
 
     @Bean
@@ -72,7 +115,10 @@ public class ApplicationServiceConfig {
     public ShippingUseCases shippingUseCases(
             ShipmentRepository shipmentRepository,
             OrderRepository orderRepository,
-            InventoryUseCases inventoryUseCases) {
-        return new ShippingApplicationService(shipmentRepository, orderRepository, inventoryUseCases);
+            InventoryUseCases inventoryUseCases,
+            BusinessIdGenerator idGenerator,
+            DomainEventPublisher eventPublisher) {
+        return new ShippingApplicationService(
+                shipmentRepository, orderRepository, inventoryUseCases, idGenerator, eventPublisher);
     }
 }
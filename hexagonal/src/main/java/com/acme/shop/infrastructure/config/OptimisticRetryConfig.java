@@ -0,0 +1,79 @@
+package com.acme.shop.infrastructure.config;
+
+import com.acme.shop.application.InventoryApplicationService;
+import com.acme.shop.application.OrderApplicationService;
+import com.acme.shop.application.ShippingApplicationService;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Re-runs an application service call whose transaction lost an optimistic version
+ * check, e.g. two checkouts reserving the same SKU. Only the outermost call is retried,
+ * since a nested call cannot restart a transaction it does not own.
+ *
+ * <p>Only services listed in {@link #RETRYABLE_SERVICES} are retried. Their calls touch
+ * nothing outside the database before commit: events, notifications, hold timers and
+ * idempotency cache entries are only released after commit, and the in-memory inventory
+ * engine compensates changes of a rolled-back transaction. Payments are deliberately left
+ * out: they authorize and capture at the gateway inside the transaction, and a retry would
+ * charge the customer again under a new payment reference.
+ */
+@Configuration
+public class OptimisticRetryConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetryConfig.class);
+
+    private static final Set<Class<?>> RETRYABLE_SERVICES = Set.of(
+            InventoryApplicationService.class,
+            OrderApplicationService.class,
+            ShippingApplicationService.class);
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor optimisticRetryAdvisor(
+            @Value("${shop.inventory.optimistic-retries:3}") int maxRetries) {
+        MethodInterceptor retry = invocation -> {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                return invocation.proceed();
+            }
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    return ((ProxyMethodInvocation) invocation).invocableClone().proceed();
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxRetries) {
+                        throw e;
+                    }
+                    log.debug("Optimistic lock conflict in {}, retrying ({}/{})",
+                            invocation.getMethod().getName(), attempt + 1, maxRetries);
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L << attempt));
+                }
+            }
+        };
+
+        StaticMethodMatcherPointcut retryableServices = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return RETRYABLE_SERVICES.contains(targetClass);
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(retryableServices, retry);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
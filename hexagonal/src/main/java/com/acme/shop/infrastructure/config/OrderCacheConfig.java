@@ -0,0 +1,47 @@
+package com.acme.shop.infrastructure.config;
+
+import com.acme.shop.infrastructure.cache.CachingOrderRepository;
+import com.acme.shop.infrastructure.cache.OrderCacheInvalidator;
+import com.acme.shop.ports.out.OrderRepository;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+/**
+ * Wraps the generated {@link OrderRepository} adapter in a {@link CachingOrderRepository},
+ * so every consumer of the port goes through the near cache, and evicts cached orders
+ * when a committed status change was written around it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shop.orders.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderCacheConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static BeanPostProcessor orderRepositoryCache(
+            @Value("${shop.orders.cache.max-entries:50000}") int maxEntries,
+            @Value("${shop.orders.cache.ttl:PT24H}") Duration ttl) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof OrderRepository repository && !(bean instanceof CachingOrderRepository)) {
+                    return new CachingOrderRepository(repository, maxEntries, ttl);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public OrderCacheInvalidator orderCacheInvalidator(OrderRepository orderRepository) {
+        if (!(orderRepository instanceof CachingOrderRepository cache)) {
+            throw new IllegalStateException("Order repository is not cached: " + orderRepository.getClass());
+        }
+        return new OrderCacheInvalidator(cache);
+    }
+}
@@ -0,0 +1,51 @@
+package com.acme.shop.infrastructure.config;
+
+import java.lang.reflect.Method;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.transaction.interceptor.NameMatchTransactionAttributeSource;
+import org.springframework.transaction.interceptor.RuleBasedTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+/**
+ * Runs every application service call in a transaction without annotating the
+ * application layer: query methods are read-only, everything else read-write.
+ */
+@Configuration
+public class TransactionConfig {
+
+    private static final String APPLICATION_PACKAGE = "com.acme.shop.application";
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor applicationServiceTransactionAdvisor(BeanFactory beanFactory) {
+        RuleBasedTransactionAttribute readOnly = new RuleBasedTransactionAttribute();
+        readOnly.setReadOnly(true);
+
+        NameMatchTransactionAttributeSource attributes = new NameMatchTransactionAttributeSource();
+        attributes.addTransactionalMethod("*", new RuleBasedTransactionAttribute());
+        attributes.addTransactionalMethod("get*", readOnly);
+        attributes.addTransactionalMethod("find*", readOnly);
+        attributes.addTransactionalMethod("search*", readOnly);
+        attributes.addTransactionalMethod("stream*", readOnly);
+        attributes.addTransactionalMethod("is*", readOnly);
+
+        TransactionInterceptor interceptor = new TransactionInterceptor();
+        interceptor.setTransactionAttributeSource(attributes);
+        interceptor.setBeanFactory(beanFactory);
+
+        StaticMethodMatcherPointcut applicationServices = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return targetClass.getPackageName().equals(APPLICATION_PACKAGE);
+            }
+        };
+        return new DefaultPointcutAdvisor(applicationServices, interceptor);
+    }
+}
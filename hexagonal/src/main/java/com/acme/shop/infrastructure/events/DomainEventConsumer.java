@@ -0,0 +1,5 @@
+package com.acme.shop.infrastructure.events;
+
+public interface DomainEventConsumer {
+    void onEvent(Object event, boolean endOfBatch);
+}
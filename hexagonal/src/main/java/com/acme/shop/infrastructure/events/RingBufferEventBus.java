@@ -0,0 +1,264 @@
+package com.acme.shop.infrastructure.events;
+
+import com.acme.shop.ports.out.DomainEventPublisher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Multi-producer ring buffer delivering every published event to each registered
+ * {@link DomainEventConsumer} on its own thread. Slots are preallocated; a producer
+ * claims a sequence, fills the slot and then marks it published. Consumers process
+ * everything published since their last run as one batch. Once every consumer has
+ * passed a slot it is cleared, and producers wait when the slowest consumer is a full
+ * ring behind.
+ *
+ * <p>Events published inside a transaction are held back until it commits and dropped
+ * if it rolls back, so consumers never see changes that were not persisted.
+ */
+@Component
+public class RingBufferEventBus implements DomainEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(RingBufferEventBus.class);
+
+    public enum WaitStrategy {
+        BUSY_SPIN,
+        YIELDING,
+        SLEEPING,
+        BLOCKING
+    }
+
+    private final int bufferSize;
+    private final int mask;
+    private final int maxBatchSize;
+    private final WaitStrategy waitStrategy;
+    private final Object[] entries;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLong cleared = new AtomicLong(-1);
+    private final AtomicBoolean clearing = new AtomicBoolean();
+    private final Object transactionKey = new Object();
+    private final Object monitor = new Object();
+    private final List<ConsumerWorker> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public RingBufferEventBus(
+            ObjectProvider<DomainEventConsumer> consumers,
+            @Value("${shop.events.ring-size:8192}") int ringSize,
+            @Value("${shop.events.max-batch-size:256}") int maxBatchSize,
+            @Value("${shop.events.wait-strategy:SLEEPING}") WaitStrategy waitStrategy) {
+        if (Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two, got: " + ringSize);
+        }
+        this.bufferSize = ringSize;
+        this.mask = ringSize - 1;
+        this.maxBatchSize = maxBatchSize;
+        this.waitStrategy = waitStrategy;
+        this.entries = new Object[ringSize];
+        this.published = new AtomicLongArray(ringSize);
+        for (int i = 0; i < ringSize; i++) {
+            published.set(i, -1);
+        }
+        consumers.orderedStream().forEach(consumer -> workers.add(new ConsumerWorker(consumer)));
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (ConsumerWorker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+        for (ConsumerWorker worker : workers) {
+            worker.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Override
+    public void publish(Object event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingInTransaction().add(event);
+        } else {
+            publishNow(event);
+        }
+    }
+
+    private List<Object> pendingInTransaction() {
+        @SuppressWarnings("unchecked")
+        List<Object> pending = (List<Object>) TransactionSynchronizationManager.getResource(transactionKey);
+        if (pending != null) {
+            return pending;
+        }
+        List<Object> events = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(transactionKey, events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // afterCompletion also runs for synchronizations registered from another afterCommit
+                TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                if (status == STATUS_COMMITTED) {
+                    events.forEach(RingBufferEventBus.this::publishNow);
+                }
+            }
+        });
+        return events;
+    }
+
+    private void publishNow(Object event) {
+        if (workers.isEmpty()) {
+            return;
+        }
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - bufferSize;
+        while (wrapPoint > cleared.get()) {
+            LockSupport.parkNanos(1_000);
+        }
+        int index = (int) (sequence & mask);
+        entries[index] = event;
+        published.set(index, sequence);
+        if (waitStrategy == WaitStrategy.BLOCKING) {
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    public Map<String, Long> getConsumerLag() {
+        long cursor = claimed.get();
+        Map<String, Long> lag = new LinkedHashMap<>();
+        for (ConsumerWorker worker : workers) {
+            lag.put(worker.name, cursor - worker.sequence.get());
+        }
+        return lag;
+    }
+
+    public int getBufferSize() { return bufferSize; }
+
+    private long minimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (ConsumerWorker worker : workers) {
+            minimum = Math.min(minimum, worker.sequence.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * Drops references to events every consumer has processed. Producers only reuse a slot
+     * once it is below {@code cleared}, so clearing never races with a new event. A worker
+     * that finds another one clearing skips; the clearing worker re-checks the minimum after
+     * letting go, so progress made meanwhile is never left uncleared.
+     */
+    private void clearConsumedSlots() {
+        while (minimumConsumerSequence() > cleared.get() && clearing.compareAndSet(false, true)) {
+            try {
+                long from = cleared.get();
+                long to = minimumConsumerSequence();
+                for (long s = from + 1; s <= to; s++) {
+                    entries[(int) (s & mask)] = null;
+                }
+                cleared.set(to);
+            } finally {
+                clearing.set(false);
+            }
+        }
+    }
+
+    private void idle(int attempt) {
+        switch (waitStrategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELDING -> {
+                if (attempt < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            case SLEEPING -> {
+                if (attempt < 100) {
+                    Thread.onSpinWait();
+                } else if (attempt < 200) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(100_000);
+                }
+            }
+            case BLOCKING -> {
+                synchronized (monitor) {
+                    try {
+                        monitor.wait(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+    }
+
+    private final class ConsumerWorker implements Runnable {
+
+        private final DomainEventConsumer consumer;
+        private final String name;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final Thread thread;
+
+        private ConsumerWorker(DomainEventConsumer consumer) {
+            this.consumer = consumer;
+            this.name = consumer.getClass().getSimpleName();
+            this.thread = new Thread(this, "event-bus-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int attempt = 0;
+            while (running || sequence.get() < claimed.get()) {
+                long next = sequence.get() + 1;
+                long available = next - 1;
+                while (available - next + 1 < maxBatchSize
+                        && published.get((int) ((available + 1) & mask)) == available + 1) {
+                    available++;
+                }
+                if (available < next) {
+                    if (!running) {
+                        return;
+                    }
+                    idle(attempt++);
+                    continue;
+                }
+                attempt = 0;
+                for (long s = next; s <= available; s++) {
+                    Object event = entries[(int) (s & mask)];
+                    try {
+                        consumer.onEvent(event, s == available);
+                    } catch (RuntimeException e) {
+                        log.error("Consumer {} failed on event {}", name, event, e);
+                    }
+                }
+                sequence.set(available);
+                clearConsumedSlots();
+            }
+        }
+    }
+}
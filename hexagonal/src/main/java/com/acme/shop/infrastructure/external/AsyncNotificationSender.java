@@ -0,0 +1,315 @@
+package com.acme.shop.infrastructure.external;
+
+import com.acme.shop.domain.customer.Email;
+import com.acme.shop.domain.order.Money;
+import com.acme.shop.ports.out.NotificationSender;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Queues notifications and hands them to {@link NotificationAdapter} in batches
+ * on a single background thread, so callers never wait on mail delivery. Spilled
+ * notifications are replayed while the queue is idle; the spill file is only deleted
+ * once every line in it has been dispatched, and shutdown spills anything not yet sent.
+ *
+ * <p>Notifications requested inside a transaction are queued once it commits, so a
+ * rolled-back or retried call never mails anyone.
+ */
+@Primary
+@Component
+public class AsyncNotificationSender implements NotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncNotificationSender.class);
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK,
+        SPILL
+    }
+
+    private final NotificationSender delegate;
+    private final BlockingQueue<Notification> queue;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Object spillLock = new Object();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean running;
+    private Thread worker;
+
+    public AsyncNotificationSender(
+            NotificationAdapter delegate,
+            @Value("${shop.notifications.queue-capacity:10000}") int queueCapacity,
+            @Value("${shop.notifications.batch-size:100}") int batchSize,
+            @Value("${shop.notifications.overflow-policy:SPILL}") OverflowPolicy overflowPolicy,
+            @Value("${shop.notifications.spill-file:notifications.spill}") Path spillFile) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.spillFile = spillFile;
+        this.replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::dispatchLoop, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        if (worker.isAlive()) {
+            // The worker spills the rest of its current batch when interrupted
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(1));
+        }
+        List<Notification> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            spill(remaining);
+        }
+    }
+
+    @Override
+    public void sendOrderConfirmation(Email email, String orderNumber, Money totalAmount) {
+        enqueue(new OrderConfirmation(email, orderNumber, totalAmount));
+    }
+
+    @Override
+    public void sendShipmentNotification(Email email, String trackingNumber, String carrier) {
+        enqueue(new ShipmentNotification(email, trackingNumber, carrier));
+    }
+
+    public int getQueueDepth() { return queue.size(); }
+    public int getQueueCapacity() { return queue.size() + queue.remainingCapacity(); }
+    public long getDispatchedCount() { return dispatched.get(); }
+    public long getDroppedCount() { return dropped.get(); }
+    public long getSpilledCount() { return spilled.get(); }
+    public long getFailedCount() { return failed.get(); }
+
+    private void enqueue(Notification notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(notification);
+                }
+            });
+        } else {
+            offer(notification);
+        }
+    }
+
+    private void offer(Notification notification) {
+        if (queue.offer(notification)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP -> {
+                dropped.incrementAndGet();
+                log.warn("Notification queue full, dropping {}", notification);
+            }
+            case BLOCK -> {
+                try {
+                    queue.put(notification);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                }
+            }
+            case SPILL -> spill(List.of(notification));
+        }
+    }
+
+    private void dispatchLoop() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                Notification first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    replaySpilled();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                dispatch(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!batch.isEmpty()) {
+                spill(batch);
+            }
+        }
+    }
+
+    /**
+     * Sends the batch and removes what was sent from it. An interrupt stops the batch
+     * early, leaving the unsent tail in the list for the caller to keep.
+     */
+    private void dispatch(List<Notification> batch) {
+        int sent = 0;
+        try {
+            for (Notification notification : batch) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                try {
+                    notification.sendTo(delegate);
+                    dispatched.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                    log.error("Failed to send {}", notification, e);
+                }
+                sent++;
+            }
+        } finally {
+            batch.subList(0, sent).clear();
+        }
+    }
+
+    private void spill(List<Notification> notifications) {
+        synchronized (spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Notification notification : notifications) {
+                    writer.write(notification.toLine());
+                    writer.newLine();
+                }
+                spilled.addAndGet(notifications.size());
+            } catch (IOException e) {
+                dropped.addAndGet(notifications.size());
+                log.error("Could not spill {} notifications to {}", notifications.size(), spillFile, e);
+            }
+        }
+    }
+
+    private void replaySpilled() {
+        synchronized (spillLock) {
+            try {
+                // A replay cut short by shutdown is resumed before newer spills are picked up
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(spillFile)) {
+                        return;
+                    }
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                log.error("Could not replay spilled notifications from {}", spillFile, e);
+                return;
+            }
+        }
+
+        long replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            List<Notification> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    batch.add(Notification.fromLine(line));
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                    log.error("Skipping unreadable spilled notification: {}", line, e);
+                }
+                if (batch.size() == batchSize || !running) {
+                    replayed += batch.size();
+                    dispatch(batch);
+                    if (!batch.isEmpty() || !running) {
+                        // Interrupted: keep the file, already sent lines are sent again on resume
+                        return;
+                    }
+                }
+            }
+            replayed += batch.size();
+            dispatch(batch);
+            if (!batch.isEmpty()) {
+                return;
+            }
+        } catch (IOException e) {
+            log.error("Could not replay spilled notifications from {}", replayFile, e);
+            return;
+        }
+
+        try {
+            Files.delete(replayFile);
+            log.info("Replayed {} spilled notifications", replayed);
+        } catch (IOException e) {
+            log.error("Could not delete replayed notifications file {}", replayFile, e);
+        }
+    }
+
+    private sealed interface Notification permits OrderConfirmation, ShipmentNotification {
+
+        void sendTo(NotificationSender sender);
+
+        String toLine();
+
+        static Notification fromLine(String line) {
+            String[] fields = line.split("\t", -1);
+            return switch (fields[0]) {
+                case "ORDER" -> new OrderConfirmation(new Email(fields[1]), fields[2],
+                        Money.of(new BigDecimal(fields[3]), fields[4]));
+                case "SHIPMENT" -> new ShipmentNotification(new Email(fields[1]), fields[2], fields[3]);
+                default -> throw new IllegalArgumentException("Unknown spilled notification: " + line);
+            };
+        }
+    }
+
+    private record OrderConfirmation(Email email, String orderNumber, Money totalAmount) implements Notification {
+
+        @Override
+        public void sendTo(NotificationSender sender) {
+            sender.sendOrderConfirmation(email, orderNumber, totalAmount);
+        }
+
+        @Override
+        public String toLine() {
+            return String.join("\t", "ORDER", email.value(), orderNumber,
+                    totalAmount.amount().toPlainString(), totalAmount.currency());
+        }
+    }
+
+    private record ShipmentNotification(Email email, String trackingNumber, String carrier) implements Notification {
+
+        @Override
+        public void sendTo(NotificationSender sender) {
+            sender.sendShipmentNotification(email, trackingNumber, carrier);
+        }
+
+        @Override
+        public String toLine() {
+            return String.join("\t", "SHIPMENT", email.value(), trackingNumber, carrier);
+        }
+    }
+}
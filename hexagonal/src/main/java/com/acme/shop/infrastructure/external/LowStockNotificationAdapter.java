@@ -0,0 +1,22 @@
+package com.acme.shop.infrastructure.external;
+
+import com.acme.shop.domain.inventory.LowStockAlert;
+import com.acme.shop.ports.out.LowStockNotifier;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LowStockNotificationAdapter implements LowStockNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockNotificationAdapter.class);
+
+    @Override
+    public void notifyLowStock(List<LowStockAlert> alerts) {
+        for (LowStockAlert alert : alerts) {
+            log.info("Low stock for product {}: available {} at or below reorder threshold {}",
+                    alert.productId().value(), alert.availableQuantity(), alert.reorderThreshold());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.acme.shop.infrastructure.id;
+
+import com.acme.shop.ports.out.BusinessIdGenerator;
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snowflake-style identifiers: 41 bits of milliseconds since 2024-01-01, 10 bits of node id
+ * and a 12-bit per-millisecond sequence, rendered as 13 Crockford base32 characters so that
+ * identifiers sort in generation order. A sequence overflow borrows the next millisecond
+ * instead of waiting, and a clock moving backwards keeps counting from the last issued value.
+ */
+@Component
+public class TimeOrderedIdGenerator implements BusinessIdGenerator {
+
+    private static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+    private final Clock clock;
+    private final AtomicLong lastState = new AtomicLong();
+
+    public TimeOrderedIdGenerator(@Value("${shop.ids.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", got: " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = Clock.systemUTC();
+    }
+
+    @Override
+    public String nextId(String prefix) {
+        return prefix + "-" + encode(nextValue());
+    }
+
+    long nextValue() {
+        long state = nextState();
+        long timestamp = state >>> SEQUENCE_BITS;
+        long sequence = state & SEQUENCE_MASK;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    private long nextState() {
+        while (true) {
+            long last = lastState.get();
+            long now = (clock.millis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            long next = now > last ? now : last + 1;
+            if (lastState.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static String encode(long value) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+}
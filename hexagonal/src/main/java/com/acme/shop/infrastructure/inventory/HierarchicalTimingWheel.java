@@ -0,0 +1,147 @@
+package com.acme.shop.infrastructure.inventory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: four levels of 64 slots, each level's slot spanning a full
+ * rotation of the level below. Scheduling and cancelling are O(1); advancing one tick
+ * touches only the due slot plus, on rollover, the one slot being cascaded downwards.
+ * Deadlines beyond the top level's span are parked in its farthest slot and re-placed
+ * when they cascade. Not thread-safe on its own; callers synchronize.
+ */
+class HierarchicalTimingWheel<K> {
+
+    private static final int LEVEL_BITS = 6;
+    private static final int SLOTS = 1 << LEVEL_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long SPAN = 1L << (LEVEL_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final long originMillis;
+    private final List<List<Entry<K>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private final ArrayDeque<Entry<K>> expired = new ArrayDeque<>();
+    private long currentTick;
+
+    HierarchicalTimingWheel(long tickMillis, long originMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.originMillis = originMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long deadlineTick = Math.floorDiv(deadlineMillis - originMillis + tickMillis - 1, tickMillis);
+        Entry<K> entry = new Entry<>(key, deadlineTick);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        // Lazy removal: the slot drops cancelled entries when it is next processed
+        entry.cancelled = true;
+        return true;
+    }
+
+    /** Advances the wheel to {@code nowMillis} and returns up to {@code max} keys whose deadline has passed. */
+    List<K> advance(long nowMillis, int max) {
+        long targetTick = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        while (currentTick < targetTick && expired.size() < max) {
+            currentTick++;
+            for (int level = cascadeDepth(currentTick); level >= 1; level--) {
+                cascade(level, (int) (currentTick >>> (LEVEL_BITS * level)) & SLOT_MASK);
+            }
+            List<Entry<K>> due = slot(0, (int) currentTick & SLOT_MASK);
+            for (Entry<K> entry : due) {
+                expire(entry);
+            }
+            due.clear();
+        }
+        List<K> batch = new ArrayList<>(Math.min(max, expired.size()));
+        while (batch.size() < max && !expired.isEmpty()) {
+            Entry<K> entry = expired.poll();
+            if (!entry.cancelled) {
+                entries.remove(entry.key);
+                batch.add(entry.key);
+            }
+        }
+        return batch;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void place(Entry<K> entry) {
+        long delta = entry.deadlineTick - currentTick;
+        if (delta <= 0) {
+            expire(entry);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (LEVEL_BITS * (level + 1))) {
+                slot(level, (int) (entry.deadlineTick >>> (LEVEL_BITS * level)) & SLOT_MASK).add(entry);
+                return;
+            }
+        }
+        long parkedTick = currentTick + SPAN - 1;
+        slot(LEVELS - 1, (int) (parkedTick >>> (LEVEL_BITS * (LEVELS - 1))) & SLOT_MASK).add(entry);
+    }
+
+    private void cascade(int level, int index) {
+        List<Entry<K>> slot = slot(level, index);
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Entry<K>> moving = new ArrayList<>(slot);
+        slot.clear();
+        for (Entry<K> entry : moving) {
+            if (!entry.cancelled) {
+                place(entry);
+            }
+        }
+    }
+
+    private void expire(Entry<K> entry) {
+        if (!entry.cancelled) {
+            expired.add(entry);
+        }
+    }
+
+    private List<Entry<K>> slot(int level, int index) {
+        return slots.get(level * SLOTS + index);
+    }
+
+    private static int cascadeDepth(long tick) {
+        int level = 0;
+        while (level < LEVELS - 1 && (tick & ((1L << (LEVEL_BITS * (level + 1))) - 1)) == 0) {
+            level++;
+        }
+        return level;
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Entry(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
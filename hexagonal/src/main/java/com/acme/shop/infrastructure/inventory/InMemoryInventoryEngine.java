@@ -0,0 +1,713 @@
+package com.acme.shop.infrastructure.inventory;
+
+import com.acme.shop.application.InventoryApplicationService;
+import com.acme.shop.domain.inventory.Inventory;
+import com.acme.shop.domain.inventory.LowStockAlert;
+import com.acme.shop.domain.inventory.SalesVelocity;
+import com.acme.shop.domain.inventory.StockHold;
+import com.acme.shop.domain.inventory.StockHoldId;
+import com.acme.shop.domain.inventory.StockMovedEvent;
+import com.acme.shop.domain.inventory.StockMovement;
+import com.acme.shop.domain.inventory.StockMovement.MovementType;
+import com.acme.shop.domain.inventory.StockSnapshot;
+import com.acme.shop.domain.product.ProductId;
+import com.acme.shop.infrastructure.inventory.ReservationJournal.CounterState;
+import com.acme.shop.infrastructure.inventory.ReservationJournal.Delta;
+import com.acme.shop.infrastructure.inventory.ReservationJournal.Intent;
+import com.acme.shop.infrastructure.inventory.ReservationJournal.Recovered;
+import com.acme.shop.ports.in.InventoryUseCases;
+import com.acme.shop.ports.in.InventoryUseCases.StockUpdateCommand;
+import com.acme.shop.ports.in.InventoryUseCases.StockUpdateResult;
+import com.acme.shop.ports.out.BusinessIdGenerator;
+import com.acme.shop.ports.out.DomainEventPublisher;
+import com.acme.shop.ports.out.HoldExpiryScheduler;
+import com.acme.shop.ports.out.StockHoldStore;
+import com.acme.shop.ports.out.StockLedger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps live stock counters in memory and applies reserve, release and ship with a
+ * compare-and-set on an immutable state, so the hot path never touches the inventory
+ * table. Right before the surrounding transaction commits, each change is journaled as an
+ * intent and a commit marker row is written in that transaction, so a crash between the
+ * database commit and the in-memory bookkeeping loses nothing: recovery replays intents
+ * whose marker exists. Once the transaction commits, the change is folded into a separate
+ * committed counter; changes of a transaction that rolls back are compensated in the live
+ * counter only. A scheduled flush writes the committed state of changed products in one
+ * batched UPDATE per interval, together with the pending stock movements, and records in
+ * the same transaction which journal segments it covers, so a crash before those segments
+ * are deleted never writes their movements twice.
+ * <p>
+ * While enabled this engine must be the only writer of inventory counters. Stock
+ * creation is delegated to {@link InventoryApplicationService}.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "shop.inventory.engine.enabled", havingValue = "true")
+@DependsOnDatabaseInitialization
+public class InMemoryInventoryEngine implements InventoryUseCases {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryInventoryEngine.class);
+
+    private static final String SELECT_SQL = "SELECT product_id, quantity_on_hand, reserved_quantity, "
+            + "reorder_threshold, movements_since_snapshot FROM inventory WHERE product_id IN (";
+    private static final String FLUSH_SQL = "UPDATE inventory SET quantity_on_hand = ?, reserved_quantity = ?, "
+            + "movements_since_snapshot = ?, version = version + 1 WHERE product_id = ?";
+    private static final String INSERT_MARKER_SQL = "INSERT INTO inventory_journal_commit (change_id) VALUES (?)";
+    private static final String SELECT_MARKERS_SQL =
+            "SELECT change_id FROM inventory_journal_commit WHERE change_id IN (";
+    private static final String DELETE_MARKER_SQL = "DELETE FROM inventory_journal_commit WHERE change_id = ?";
+    private static final String SELECT_CHECKPOINT_SQL =
+            "SELECT flushed_through FROM inventory_journal_checkpoint WHERE id = 1";
+    private static final String UPDATE_CHECKPOINT_SQL =
+            "UPDATE inventory_journal_checkpoint SET flushed_through = ? WHERE id = 1";
+    private static final String INSERT_CHECKPOINT_SQL =
+            "INSERT INTO inventory_journal_checkpoint (id, flushed_through) VALUES (1, ?)";
+
+    private final InventoryUseCases delegate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate flushTransaction;
+    private final DomainEventPublisher eventPublisher;
+    private final StockLedger stockLedger;
+    private final StockHoldStore stockHoldStore;
+    private final HoldExpiryScheduler holdExpiryScheduler;
+    private final BusinessIdGenerator idGenerator;
+    private final ReservationJournal journal;
+    private final int flushBatchSize;
+    private final ConcurrentHashMap<ProductId, AtomicReference<CounterState>> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ProductId, AtomicReference<CounterState>> committed = new ConcurrentHashMap<>();
+    private final Set<ProductId> dirty = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<ProductId, Integer> movementsSinceSnapshot = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<StockMovement> pendingMovements = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<String> settledMarkers = new ConcurrentLinkedQueue<>();
+    private final AtomicLong reservations = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong compensations = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile long lastFlushMillis;
+    private volatile LocalDateTime lastCheckpointAt = LocalDateTime.MIN;
+
+    public InMemoryInventoryEngine(
+            @Qualifier("inventoryUseCases") InventoryUseCases delegate,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            DomainEventPublisher eventPublisher,
+            StockLedger stockLedger,
+            StockHoldStore stockHoldStore,
+            HoldExpiryScheduler holdExpiryScheduler,
+            BusinessIdGenerator idGenerator,
+            @Value("${shop.inventory.engine.journal-dir:inventory-journal}") Path journalDirectory,
+            @Value("${shop.inventory.engine.fsync:true}") boolean fsync,
+            @Value("${shop.inventory.engine.flush-batch-size:500}") int flushBatchSize) {
+        this.delegate = delegate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.stockLedger = stockLedger;
+        this.stockHoldStore = stockHoldStore;
+        this.holdExpiryScheduler = holdExpiryScheduler;
+        this.idGenerator = idGenerator;
+        this.journal = new ReservationJournal(journalDirectory, fsync);
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    /**
+     * Replays unflushed committed changes on top of the last flushed inventory rows. A change
+     * the journal left unresolved counts as committed exactly when its marker row exists.
+     */
+    @PostConstruct
+    public void recover() {
+        long flushedThrough = jdbcTemplate.queryForList(SELECT_CHECKPOINT_SQL, Long.class).stream()
+                .findFirst().orElse(-1L);
+        Recovered recovered = journal.open(flushedThrough);
+        List<Intent> replayed = new ArrayList<>(recovered.committed());
+        if (!recovered.unresolved().isEmpty()) {
+            Set<String> marked = findMarkers(recovered.unresolved().stream().map(Intent::changeId).toList());
+            recovered.unresolved().stream()
+                    .filter(intent -> marked.contains(intent.changeId()))
+                    .forEach(replayed::add);
+        }
+        Set<ProductId> productIds = new LinkedHashSet<>();
+        replayed.forEach(intent -> intent.deltas().forEach(delta -> productIds.add(delta.productId())));
+        if (!productIds.isEmpty()) {
+            load(new ArrayList<>(productIds));
+        }
+        for (Intent intent : replayed) {
+            for (Delta delta : intent.deltas()) {
+                if (!committed.containsKey(delta.productId())) {
+                    log.warn("Dropping journaled change {} for unknown product {}",
+                            intent.changeId(), delta.productId());
+                    continue;
+                }
+                UnaryOperator<CounterState> replay = state -> new CounterState(
+                        state.quantityOnHand() + delta.onHand(), state.reservedQuantity() + delta.reserved(),
+                        state.reorderThreshold(), state.version() + 1);
+                counters.get(delta.productId()).updateAndGet(replay);
+                committed.get(delta.productId()).updateAndGet(replay);
+                dirty.add(delta.productId());
+            }
+            pendingMovements.addAll(intent.movements());
+            settledMarkers.add(intent.changeId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        journal.close();
+    }
+
+    @Override
+    public Inventory initializeStock(ProductId productId, int initialQuantity) {
+        Inventory inventory = delegate.initializeStock(productId, initialQuantity);
+        CounterState state = new CounterState(inventory.getQuantityOnHand(), inventory.getReservedQuantity(),
+                inventory.getReorderThreshold(), 0);
+        counters.putIfAbsent(productId, new AtomicReference<>(state));
+        committed.putIfAbsent(productId, new AtomicReference<>(state));
+        return inventory;
+    }
+
+    @Override
+    public void reserveStock(ProductId productId, int quantity) {
+        reserveStock(Map.of(productId, quantity));
+    }
+
+    @Override
+    public void reserveStock(Map<ProductId, Integer> quantities) {
+        List<ProductId> productIds = new ArrayList<>(quantities.keySet());
+        productIds.sort(Comparator.comparing(ProductId::value));
+        Map<ProductId, AtomicReference<CounterState>> loaded = counters(productIds);
+
+        List<Change> applied = new ArrayList<>(productIds.size());
+        for (ProductId productId : productIds) {
+            int quantity = quantities.get(productId);
+            Change change = apply(productId, loaded.get(productId), state -> state.availableQuantity() < quantity
+                    ? null
+                    : new CounterState(state.quantityOnHand(), state.reservedQuantity() + quantity,
+                            state.reorderThreshold(), state.version() + 1));
+            if (change == null) {
+                applied.forEach(this::revert);
+                rejections.incrementAndGet();
+                throw new IllegalStateException("Insufficient stock for " + shortages(quantities, loaded));
+            }
+            applied.add(change);
+        }
+        reservations.incrementAndGet();
+        complete(applied, MovementType.RESERVED, quantities, "Order reservation");
+    }
+
+    @Override
+    public void releaseStock(ProductId productId, int quantity) {
+        releaseStock(Map.of(productId, quantity));
+    }
+
+    @Override
+    public void releaseStock(Map<ProductId, Integer> quantities) {
+        Map<ProductId, AtomicReference<CounterState>> loaded = counters(quantities.keySet());
+        List<Change> applied = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> applied.add(apply(productId, loaded.get(productId),
+                state -> new CounterState(state.quantityOnHand(), Math.max(0, state.reservedQuantity() - quantity),
+                        state.reorderThreshold(), state.version() + 1))));
+        complete(applied, MovementType.RELEASED, quantities, "Order cancellation");
+    }
+
+    @Override
+    public StockHold holdStock(Map<ProductId, Integer> quantities, Duration ttl) {
+        StockHold hold = StockHold.create(new StockHoldId(idGenerator.nextId("HOLD")), quantities, ttl);
+        reserveStock(hold.quantities());
+        try {
+            stockHoldStore.save(hold);
+        } catch (RuntimeException e) {
+            releaseStock(hold.quantities());
+            throw e;
+        }
+        holdExpiryScheduler.schedule(hold.id(), hold.expiresAt());
+        return hold;
+    }
+
+    @Override
+    public void confirmHold(StockHoldId holdId) {
+        if (!stockHoldStore.deleteById(holdId)) {
+            throw new IllegalStateException("Stock hold expired or unknown: " + holdId.value());
+        }
+        holdExpiryScheduler.cancel(holdId);
+    }
+
+    @Override
+    public void releaseHold(StockHoldId holdId) {
+        StockHold hold = stockHoldStore.findById(holdId).orElse(null);
+        if (hold == null || !stockHoldStore.deleteById(holdId)) {
+            throw new IllegalStateException("Stock hold expired or unknown: " + holdId.value());
+        }
+        releaseStock(hold.quantities());
+        holdExpiryScheduler.cancel(holdId);
+    }
+
+    @Override
+    public int releaseExpiredHolds(Collection<StockHoldId> holdIds) {
+        Instant now = Instant.now();
+        List<StockHold> expired = stockHoldStore.findAllById(holdIds).stream()
+                .filter(hold -> hold.isExpired(now))
+                .toList();
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        Set<StockHoldId> deleted = stockHoldStore.deleteAllById(expired.stream().map(StockHold::id).toList());
+        List<StockHold> released = expired.stream().filter(hold -> deleted.contains(hold.id())).toList();
+        if (!released.isEmpty()) {
+            releaseStock(StockHold.totalQuantities(released));
+        }
+        return released.size();
+    }
+
+    @Override
+    public void shipStock(ProductId productId, int quantity) {
+        shipStock(Map.of(productId, quantity));
+    }
+
+    @Override
+    public void shipStock(Map<ProductId, Integer> quantities) {
+        Map<ProductId, AtomicReference<CounterState>> loaded = counters(quantities.keySet());
+        List<Change> applied = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> applied.add(apply(productId, loaded.get(productId),
+                state -> new CounterState(state.quantityOnHand() - quantity,
+                        Math.max(0, state.reservedQuantity() - quantity), state.reorderThreshold(),
+                        state.version() + 1))));
+        complete(applied, MovementType.SHIPPED, quantities, "Order shipped");
+    }
+
+    @Override
+    public List<StockUpdateResult> applyStockUpdates(List<StockUpdateCommand> commands) {
+        StockUpdateResult[] results = new StockUpdateResult[commands.size()];
+        Map<ProductId, List<Integer>> byProduct = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>(stockLedger.findAppliedReferences(commands.stream()
+                .map(StockUpdateCommand::reference).filter(Objects::nonNull).distinct().toList()));
+        for (int i = 0; i < commands.size(); i++) {
+            StockUpdateCommand command = commands.get(i);
+            if (command.type() != MovementType.RECEIVED && command.type() != MovementType.ADJUSTED) {
+                results[i] = StockUpdateResult.rejected(command.reference(), command.productId(),
+                        "Only RECEIVED and ADJUSTED updates are accepted, got " + command.type());
+            } else if (command.reference() != null && !seen.add(command.reference())) {
+                results[i] = StockUpdateResult.rejected(command.reference(), command.productId(),
+                        "Stock update already applied: " + command.reference());
+            } else {
+                byProduct.computeIfAbsent(command.productId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+        Map<ProductId, AtomicReference<CounterState>> loaded = new HashMap<>();
+        if (!byProduct.isEmpty()) {
+            load(new ArrayList<>(byProduct.keySet())).forEach(loaded::put);
+        }
+
+        List<Change> changes = new ArrayList<>();
+        List<StockMovement> movements = new ArrayList<>();
+        byProduct.forEach((productId, indexes) -> {
+            AtomicReference<CounterState> counter = loaded.get(productId);
+            int onHand = counter == null ? 0 : counter.get().quantityOnHand();
+            int delta = 0;
+            List<StockMovement> applied = new ArrayList<>();
+            for (int index : indexes) {
+                StockUpdateCommand command = commands.get(index);
+                String error = counter == null ? "No inventory record for product: " + productId
+                        : rejection(command, onHand + delta);
+                if (error != null) {
+                    results[index] = StockUpdateResult.rejected(command.reference(), productId, error);
+                    continue;
+                }
+                delta += command.quantity();
+                applied.add(StockMovement.create(productId, command.type(), command.quantity(),
+                        command.reason() != null && !command.reason().isBlank() ? command.reason()
+                                : command.type() == MovementType.RECEIVED ? "Warehouse receipt"
+                                        : "Stock count correction"));
+                results[index] = StockUpdateResult.applied(command.reference(), productId);
+            }
+            if (!applied.isEmpty()) {
+                int total = delta;
+                changes.add(apply(productId, counter, state -> new CounterState(state.quantityOnHand() + total,
+                        state.reservedQuantity(), state.reorderThreshold(), state.version() + 1)));
+                movements.addAll(applied);
+            }
+        });
+        if (!changes.isEmpty()) {
+            complete(changes, movements);
+        }
+        stockLedger.appendReferences(Arrays.stream(results)
+                .filter(result -> result.error() == null && result.reference() != null)
+                .map(StockUpdateResult::reference)
+                .toList());
+        return List.of(results);
+    }
+
+    @Override
+    public void shardStock(ProductId productId, int bucketCount) {
+        throw new IllegalStateException("Sharded stock is not used while the in-memory inventory engine is enabled");
+    }
+
+    @Override
+    public void unshardStock(ProductId productId) {
+        throw new IllegalStateException("Sharded stock is not used while the in-memory inventory engine is enabled");
+    }
+
+    @Override
+    public int getAvailableQuantity(ProductId productId) {
+        return counters(List.of(productId)).get(productId).get().availableQuantity();
+    }
+
+    @Override
+    public Map<ProductId, Integer> getAvailableQuantities(Collection<ProductId> productIds) {
+        Map<ProductId, Integer> available = new HashMap<>();
+        for (ProductId productId : productIds) {
+            AtomicReference<CounterState> counter = counters.get(productId);
+            if (counter != null) {
+                available.put(productId, counter.get().availableQuantity());
+            }
+        }
+        if (available.size() < productIds.size()) {
+            List<ProductId> missing = productIds.stream().filter(id -> !available.containsKey(id)).toList();
+            load(missing).forEach((productId, counter) -> available.put(productId, counter.get().availableQuantity()));
+        }
+        return available;
+    }
+
+    @Override
+    public List<LowStockAlert> getLowStockItems() {
+        return delegate.getLowStockItems();
+    }
+
+    @Override
+    public boolean isLowOnStock(ProductId productId) {
+        return delegate.isLowOnStock(productId);
+    }
+
+    @Override
+    public SalesVelocity getSalesVelocity(ProductId productId) {
+        return delegate.getSalesVelocity(productId).withAvailableQuantity(getAvailableQuantity(productId));
+    }
+
+    @Override
+    public Map<ProductId, SalesVelocity> getSalesVelocities(Collection<ProductId> productIds) {
+        Map<ProductId, Integer> available = getAvailableQuantities(productIds);
+        Map<ProductId, SalesVelocity> velocities = new HashMap<>(delegate.getSalesVelocities(productIds));
+        velocities.replaceAll((productId, velocity) ->
+                velocity.withAvailableQuantity(available.getOrDefault(productId, 0)));
+        return velocities;
+    }
+
+    @Override
+    public StockSnapshot getLedgerBalance(ProductId productId) {
+        return delegate.getLedgerBalance(productId);
+    }
+
+    @Scheduled(fixedDelayString = "${shop.inventory.engine.flush-interval:PT0.1S}")
+    public synchronized void flush() {
+        long startedAt = System.nanoTime();
+        List<ProductId> batch = new ArrayList<>();
+        Map<ProductId, CounterState> states = new LinkedHashMap<>();
+        List<StockMovement> movements = new ArrayList<>();
+        List<String> markers = new ArrayList<>();
+        List<Path> segments = journal.seal(() -> {
+            for (Iterator<ProductId> it = dirty.iterator(); it.hasNext(); ) {
+                ProductId productId = it.next();
+                it.remove();
+                batch.add(productId);
+                states.put(productId, committed.get(productId).get());
+            }
+            for (StockMovement movement; (movement = pendingMovements.poll()) != null; ) {
+                movements.add(movement);
+            }
+            for (String changeId; (changeId = settledMarkers.poll()) != null; ) {
+                markers.add(changeId);
+            }
+            lastCheckpointAt = LocalDateTime.now();
+        });
+        if (batch.isEmpty() && movements.isEmpty() && markers.isEmpty()) {
+            // Nothing in these segments was committed, so replaying them would change nothing
+            journal.delete(segments);
+            return;
+        }
+
+        // Snapshot on the same interval as the application service, so ledger replay stays bounded
+        LocalDateTime takenAt = lastCheckpointAt;
+        Map<ProductId, Integer> sinceSnapshot = new HashMap<>();
+        for (ProductId productId : batch) {
+            sinceSnapshot.put(productId, movementsSinceSnapshot.getOrDefault(productId, 0));
+        }
+        movements.forEach(movement -> sinceSnapshot.merge(movement.getProductId(), 1, Integer::sum));
+        List<StockSnapshot> snapshots = new ArrayList<>();
+        sinceSnapshot.replaceAll((productId, count) -> {
+            CounterState state = states.get(productId);
+            if (state == null || count < InventoryApplicationService.SNAPSHOT_INTERVAL) {
+                return count;
+            }
+            snapshots.add(new StockSnapshot(productId, state.quantityOnHand(), state.reservedQuantity(), takenAt));
+            return 0;
+        });
+        List<Object[]> rows = new ArrayList<>(states.size());
+        states.forEach((productId, state) -> rows.add(new Object[] {
+                state.quantityOnHand(), state.reservedQuantity(), sinceSnapshot.get(productId), productId.value()}));
+
+        try {
+            flushTransaction.executeWithoutResult(tx -> {
+                for (int from = 0; from < rows.size(); from += flushBatchSize) {
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, rows.subList(from, Math.min(rows.size(), from + flushBatchSize)));
+                }
+                stockLedger.append(movements);
+                snapshots.forEach(stockLedger::appendSnapshot);
+                if (!markers.isEmpty()) {
+                    jdbcTemplate.batchUpdate(DELETE_MARKER_SQL,
+                            markers.stream().map(id -> new Object[] {id}).toList());
+                }
+                long flushedThrough = ReservationJournal.flushedThrough(segments);
+                if (jdbcTemplate.update(UPDATE_CHECKPOINT_SQL, flushedThrough) == 0) {
+                    jdbcTemplate.update(INSERT_CHECKPOINT_SQL, flushedThrough);
+                }
+            });
+            movementsSinceSnapshot.putAll(sinceSnapshot);
+            journal.delete(segments);
+            flushedRows.addAndGet(rows.size());
+            lastFlushMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        } catch (RuntimeException e) {
+            dirty.addAll(batch);
+            pendingMovements.addAll(movements);
+            settledMarkers.addAll(markers);
+            failedFlushes.incrementAndGet();
+            log.warn("Inventory flush of {} counters failed, keeping them in the journal", batch.size(), e);
+        }
+    }
+
+    public int getTrackedProductCount() { return counters.size(); }
+    public int getDirtyCount() { return dirty.size(); }
+    public long getReservationCount() { return reservations.get(); }
+    public long getRejectionCount() { return rejections.get(); }
+    public long getCompensationCount() { return compensations.get(); }
+    public long getFlushedRowCount() { return flushedRows.get(); }
+    public long getFailedFlushCount() { return failedFlushes.get(); }
+    public long getLastFlushMillis() { return lastFlushMillis; }
+    public int getPendingMovementCount() { return pendingMovements.size(); }
+    public long getJournalBytes() { return journal.getCurrentSegmentBytes(); }
+    public int getInFlightChangeCount() { return journal.getInFlightCount(); }
+
+    private Change apply(ProductId productId, AtomicReference<CounterState> counter,
+                         UnaryOperator<CounterState> update) {
+        CounterState previous;
+        CounterState next;
+        do {
+            previous = counter.get();
+            next = update.apply(previous);
+            if (next == null) {
+                return null;
+            }
+        } while (!counter.compareAndSet(previous, next));
+        return new Change(productId, counter, previous, next);
+    }
+
+    private void revert(Change change) {
+        int onHandDelta = change.previous().quantityOnHand() - change.next().quantityOnHand();
+        int reservedDelta = change.previous().reservedQuantity() - change.next().reservedQuantity();
+        CounterState previous;
+        CounterState next;
+        do {
+            previous = change.counter().get();
+            next = new CounterState(previous.quantityOnHand() + onHandDelta,
+                    previous.reservedQuantity() + reservedDelta, previous.reorderThreshold(), previous.version() + 1);
+        } while (!change.counter().compareAndSet(previous, next));
+    }
+
+    /**
+     * Folds a committed change into the committed counters and resolves its intent,
+     * atomically with respect to a flush checkpoint. A {@code marked} change has a commit
+     * marker row to settle it on recovery; any other one is resolved durably. Movements are
+     * stamped now, after the last checkpoint, because the ledger is replayed from a snapshot
+     * by time: a movement stamped earlier but flushed after that snapshot would be skipped.
+     */
+    private void commit(Intent intent, List<Change> changes, boolean marked) {
+        journal.record(() -> {
+            for (Change change : changes) {
+                int onHandDelta = change.next().quantityOnHand() - change.previous().quantityOnHand();
+                int reservedDelta = change.next().reservedQuantity() - change.previous().reservedQuantity();
+                committed.get(change.productId()).updateAndGet(current -> new CounterState(
+                        current.quantityOnHand() + onHandDelta, current.reservedQuantity() + reservedDelta,
+                        current.reorderThreshold(), current.version() + 1));
+                dirty.add(change.productId());
+            }
+            LocalDateTime stamp = LocalDateTime.now();
+            if (!stamp.isAfter(lastCheckpointAt)) {
+                stamp = lastCheckpointAt.plusNanos(1_000);
+            }
+            for (StockMovement movement : intent.movements()) {
+                pendingMovements.add(new StockMovement(null, movement.getProductId(), movement.getType(),
+                        movement.getQuantity(), movement.getReason(), stamp));
+            }
+            journal.resolve(intent.changeId(), true, !marked);
+            if (marked) {
+                settledMarkers.add(intent.changeId());
+            }
+        });
+    }
+
+    private void complete(List<Change> changes, MovementType type, Map<ProductId, Integer> quantities,
+                          String reason) {
+        List<StockMovement> movements = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            movements.add(StockMovement.create(change.productId(), type, quantities.get(change.productId()), reason));
+        }
+        complete(changes, movements);
+    }
+
+    private void complete(List<Change> changes, List<StockMovement> movements) {
+        Map<ProductId, CounterState> after = new HashMap<>();
+        changes.forEach(change -> after.put(change.productId(), change.next()));
+        Instant now = Instant.now();
+        for (StockMovement movement : movements) {
+            CounterState state = after.get(movement.getProductId());
+            eventPublisher.publish(new StockMovedEvent(movement.getProductId(), movement.getType(),
+                    movement.getQuantity(), state.availableQuantity(), state.reorderThreshold(), now));
+        }
+        List<Delta> deltas = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            deltas.add(new Delta(change.productId(),
+                    change.next().quantityOnHand() - change.previous().quantityOnHand(),
+                    change.next().reservedQuantity() - change.previous().reservedQuantity()));
+        }
+        Intent intent = new Intent(idGenerator.nextId("INV"), deltas, movements);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            journal.prepare(intent);
+            commit(intent, changes, false);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean prepared;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                journal.prepare(intent);
+                prepared = true;
+                jdbcTemplate.update(INSERT_MARKER_SQL, intent.changeId());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    commit(intent, changes, true);
+                    return;
+                }
+                changes.forEach(InMemoryInventoryEngine.this::revert);
+                compensations.addAndGet(changes.size());
+                if (prepared) {
+                    journal.resolve(intent.changeId(), false, false);
+                }
+            }
+        });
+    }
+
+    private Map<ProductId, AtomicReference<CounterState>> counters(Collection<ProductId> productIds) {
+        Map<ProductId, AtomicReference<CounterState>> found = new HashMap<>();
+        List<ProductId> missing = new ArrayList<>();
+        for (ProductId productId : productIds) {
+            AtomicReference<CounterState> counter = counters.get(productId);
+            if (counter != null) {
+                found.put(productId, counter);
+            } else {
+                missing.add(productId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<ProductId, AtomicReference<CounterState>> loaded = load(missing);
+            if (loaded.size() < missing.size()) {
+                missing.removeAll(loaded.keySet());
+                throw new IllegalStateException("No inventory record for products: " + missing);
+            }
+            found.putAll(loaded);
+        }
+        return found;
+    }
+
+    private Set<String> findMarkers(List<String> changeIds) {
+        String placeholders = String.join(", ", Collections.nCopies(changeIds.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(SELECT_MARKERS_SQL + placeholders + ")", String.class,
+                changeIds.toArray()));
+    }
+
+    private Map<ProductId, AtomicReference<CounterState>> load(List<ProductId> productIds) {
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        Map<ProductId, AtomicReference<CounterState>> loaded = new HashMap<>();
+        jdbcTemplate.query(SELECT_SQL + placeholders + ")", (rs, rowNum) -> {
+            ProductId productId = new ProductId(rs.getLong("product_id"));
+            CounterState state = new CounterState(rs.getInt("quantity_on_hand"), rs.getInt("reserved_quantity"),
+                    rs.getInt("reorder_threshold"), 0);
+            movementsSinceSnapshot.putIfAbsent(productId, rs.getInt("movements_since_snapshot"));
+            committed.computeIfAbsent(productId, id -> new AtomicReference<>(state));
+            loaded.put(productId, counters.computeIfAbsent(productId, id -> new AtomicReference<>(state)));
+            return productId;
+        }, productIds.stream().map(ProductId::value).toArray());
+        return loaded;
+    }
+
+    private static String rejection(StockUpdateCommand command, int onHand) {
+        if (command.type() == MovementType.RECEIVED && command.quantity() <= 0) {
+            return "Received quantity must be positive: " + command.quantity();
+        }
+        if (command.type() == MovementType.ADJUSTED && command.quantity() == 0) {
+            return "Adjustment must not be zero";
+        }
+        if (onHand + command.quantity() < 0) {
+            return "Adjustment of " + command.quantity() + " would take product " + command.productId()
+                    + " below zero: onHand=" + onHand;
+        }
+        return null;
+    }
+
+    private static String shortages(Map<ProductId, Integer> quantities,
+                                    Map<ProductId, AtomicReference<CounterState>> counters) {
+        List<String> shortages = new ArrayList<>();
+        quantities.forEach((productId, requested) -> {
+            int available = counters.get(productId).get().availableQuantity();
+            if (available < requested) {
+                shortages.add("product " + productId + ": available=" + available + ", requested=" + requested);
+            }
+        });
+        return String.join("; ", shortages);
+    }
+
+    private record Change(ProductId productId, AtomicReference<CounterState> counter,
+                          CounterState previous, CounterState next) {}
+}
@@ -0,0 +1,185 @@
+package com.acme.shop.infrastructure.inventory;
+
+import com.acme.shop.domain.inventory.LowStockAlert;
+import com.acme.shop.domain.inventory.StockMovedEvent;
+import com.acme.shop.domain.product.ProductId;
+import com.acme.shop.infrastructure.events.DomainEventConsumer;
+import com.acme.shop.ports.in.InventoryUseCases;
+import com.acme.shop.ports.out.LowStockIndex;
+import com.acme.shop.ports.out.LowStockNotifier;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evaluates the reorder threshold of every product named in a {@link StockMovedEvent} and
+ * keeps the set of products currently at or below it. Events only say which products
+ * moved: commits can be delivered out of order and bucket-served events carry an
+ * estimate, so the available quantity is read back once per batch for the products it
+ * touched, after their transactions have committed. A product leaves the set only once
+ * its available quantity climbs past the threshold plus the recovery margin, and
+ * re-entering within the debounce window does not alert again, so stock hovering around
+ * the threshold does not flap. Alerts are collected per event-bus batch and handed to the
+ * {@link LowStockNotifier} together.
+ * <p>
+ * Event handling runs on the single event-bus consumer thread; the set itself is
+ * concurrent so lookups from request threads are O(1) and lock-free.
+ */
+@Component
+public class ReorderThresholdMonitor implements DomainEventConsumer, LowStockIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReorderThresholdMonitor.class);
+
+    private static final String LOW_STOCK_SQL =
+            "SELECT product_id, quantity_on_hand - reserved_quantity AS available, reorder_threshold FROM inventory "
+                    + "WHERE quantity_on_hand - reserved_quantity <= reorder_threshold "
+                    + "AND product_id NOT IN (SELECT product_id FROM inventory_bucket)";
+
+    private final LowStockNotifier notifier;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration debounce;
+    private final int recoveryMargin;
+    private final int batchSize;
+    private final Map<ProductId, LowStockAlert> lowStock = new ConcurrentHashMap<>();
+    private final Map<ProductId, Instant> lastAlertedAt = new ConcurrentHashMap<>();
+    private final ObjectProvider<InventoryUseCases> inventoryUseCases;
+    private final Map<ProductId, StockMovedEvent> touched = new LinkedHashMap<>();
+    private final List<LowStockAlert> pending = new ArrayList<>();
+    private final AtomicLong evaluated = new AtomicLong();
+    private final AtomicLong alerted = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    public ReorderThresholdMonitor(
+            LowStockNotifier notifier,
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<InventoryUseCases> inventoryUseCases,
+            @Value("${shop.inventory.low-stock.debounce:PT15M}") Duration debounce,
+            @Value("${shop.inventory.low-stock.recovery-margin:0}") int recoveryMargin,
+            @Value("${shop.inventory.low-stock.batch-size:100}") int batchSize) {
+        this.notifier = notifier;
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventoryUseCases = inventoryUseCases;
+        this.debounce = debounce;
+        this.recoveryMargin = recoveryMargin;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Seeds the set once at startup with products that were already low, without alerting
+     * again for them within the debounce window. Sharded products are left to their next
+     * movement, since their inventory row does not show the stock held in buckets.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Instant now = Instant.now();
+        jdbcTemplate.query(LOW_STOCK_SQL, (rs, rowNum) -> {
+            ProductId productId = new ProductId(rs.getLong("product_id"));
+            lowStock.putIfAbsent(productId,
+                    new LowStockAlert(productId, rs.getInt("available"), rs.getInt("reorder_threshold"), now));
+            lastAlertedAt.putIfAbsent(productId, now);
+            return productId;
+        });
+        log.info("Reorder threshold monitor started with {} products below threshold", lowStock.size());
+    }
+
+    @Override
+    public void onEvent(Object event, boolean endOfBatch) {
+        if (event instanceof StockMovedEvent moved) {
+            touched.put(moved.productId(), moved);
+        }
+        if (!touched.isEmpty() && (endOfBatch || touched.size() >= batchSize)) {
+            evaluateTouched();
+        }
+        if (!pending.isEmpty() && (endOfBatch || pending.size() >= batchSize)) {
+            flush();
+        }
+    }
+
+    @Override
+    public boolean contains(ProductId productId) {
+        return lowStock.containsKey(productId);
+    }
+
+    @Override
+    public List<LowStockAlert> findAll() {
+        return List.copyOf(lowStock.values());
+    }
+
+    public int getLowStockCount() { return lowStock.size(); }
+    public long getEvaluatedCount() { return evaluated.get(); }
+    public long getAlertedCount() { return alerted.get(); }
+    public long getSuppressedCount() { return suppressed.get(); }
+    public long getRecoveredCount() { return recovered.get(); }
+    public long getBatchCount() { return batches.get(); }
+
+    private void evaluateTouched() {
+        Map<ProductId, Integer> available;
+        try {
+            available = inventoryUseCases.getObject().getAvailableQuantities(touched.keySet());
+        } catch (RuntimeException e) {
+            log.warn("Could not read available stock of {} products, using the quantities from their events",
+                    touched.size(), e);
+            available = Map.of();
+        }
+        try {
+            for (StockMovedEvent event : touched.values()) {
+                evaluate(event, available.getOrDefault(event.productId(), event.availableQuantity()));
+            }
+        } finally {
+            touched.clear();
+        }
+    }
+
+    private void evaluate(StockMovedEvent event, int availableQuantity) {
+        evaluated.incrementAndGet();
+        ProductId productId = event.productId();
+        if (LowStockAlert.isLow(availableQuantity, event.reorderThreshold())) {
+            LowStockAlert alert = new LowStockAlert(productId, availableQuantity, event.reorderThreshold(),
+                    event.occurredAt());
+            if (lowStock.put(productId, alert) != null) {
+                return;
+            }
+            Instant last = lastAlertedAt.get(productId);
+            if (last != null && last.plus(debounce).isAfter(event.occurredAt())) {
+                suppressed.incrementAndGet();
+                return;
+            }
+            lastAlertedAt.put(productId, event.occurredAt());
+            pending.add(alert);
+        } else if (availableQuantity > event.reorderThreshold() + recoveryMargin) {
+            if (lowStock.remove(productId) != null) {
+                recovered.incrementAndGet();
+            }
+        } else {
+            lowStock.computeIfPresent(productId, (id, alert) -> new LowStockAlert(id, availableQuantity,
+                    event.reorderThreshold(), alert.detectedAt()));
+        }
+    }
+
+    private void flush() {
+        List<LowStockAlert> batch = List.copyOf(pending);
+        pending.clear();
+        try {
+            notifier.notifyLowStock(batch);
+            alerted.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (RuntimeException e) {
+            log.error("Failed to deliver {} low-stock alerts", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.acme.shop.infrastructure.inventory;
+
+import com.acme.shop.domain.inventory.StockMovement;
+import com.acme.shop.domain.inventory.StockMovement.MovementType;
+import com.acme.shop.domain.product.ProductId;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only log of inventory changes, one segment file at a time. A change is written
+ * as an {@link Intent} before its transaction commits: the counter deltas and stock
+ * movements it will apply, under a change id. Once the outcome is known a commit or abort
+ * record follows. Those outcome records are only hints; a change the process did not live
+ * to resolve is settled on recovery against the commit marker its transaction wrote.
+ *
+ * <p>Appends run concurrently. {@link #seal} rotates the segment and runs a checkpoint
+ * while no append is in progress, so every resolved change in a sealed segment is covered
+ * by that checkpoint. Intents still in flight are copied into the new segment first, since
+ * sealed segments are deleted once the checkpoint is committed. Segments are numbered in
+ * order; the checkpoint stores the highest number it covers, and {@link #open} skips
+ * segments at or below it that a crash left behind, so nothing is applied twice.
+ */
+public class ReservationJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationJournal.class);
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String INTENT = "I";
+    private static final String MOVEMENT = "M";
+    private static final String COMMITTED = "C";
+    private static final String ABORTED = "A";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ReadWriteLock rotation = new ReentrantReadWriteLock();
+    private final List<Path> sealed = new CopyOnWriteArrayList<>();
+    private final Map<String, Intent> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong currentBytes = new AtomicLong();
+    private volatile FileChannel channel;
+    private volatile Path current;
+    private long nextSegment;
+
+    public ReservationJournal(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Deletes segments numbered {@code flushedThrough} or lower and replays the rest.
+     * Aborted changes are dropped; the others are returned committed or unresolved.
+     */
+    public Recovered open(long flushedThrough) {
+        Map<String, Intent> intents = new LinkedHashMap<>();
+        Set<String> committed = new HashSet<>();
+        Set<String> aborted = new HashSet<>();
+        rotation.writeLock().lock();
+        try {
+            Files.createDirectories(directory);
+            nextSegment = flushedThrough + 1;
+            for (Path segment : segments()) {
+                long sequence = sequenceOf(segment);
+                if (sequence <= flushedThrough) {
+                    Files.deleteIfExists(segment);
+                    continue;
+                }
+                replay(segment, intents, committed, aborted);
+                sealed.add(segment);
+                nextSegment = Math.max(nextSegment, sequence + 1);
+            }
+            openSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open reservation journal in " + directory, e);
+        } finally {
+            rotation.writeLock().unlock();
+        }
+        List<Intent> resolved = new ArrayList<>();
+        List<Intent> unresolved = new ArrayList<>();
+        intents.forEach((changeId, intent) -> {
+            if (committed.contains(changeId)) {
+                resolved.add(intent);
+            } else if (!aborted.contains(changeId)) {
+                unresolved.add(intent);
+            }
+        });
+        if (!intents.isEmpty()) {
+            log.info("Replayed {} committed and {} unresolved inventory changes from {} journal segments",
+                    resolved.size(), unresolved.size(), sealed.size());
+        }
+        return new Recovered(resolved, unresolved);
+    }
+
+    /**
+     * Writes {@code intent} durably and keeps it in flight until {@link #resolve}, so that
+     * sealing never drops it.
+     */
+    public void prepare(Intent intent) {
+        rotation.readLock().lock();
+        try {
+            write(format(intent), fsync);
+            inFlight.put(intent.changeId(), intent);
+        } finally {
+            rotation.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records the outcome of a prepared change. {@code durable} forces it to disk; that is
+     * only needed when no commit marker exists to settle the change on recovery.
+     */
+    public void resolve(String changeId, boolean committed, boolean durable) {
+        rotation.readLock().lock();
+        try {
+            write((committed ? COMMITTED : ABORTED) + "\t" + changeId + "\n", durable && fsync);
+            inFlight.remove(changeId);
+        } finally {
+            rotation.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code changes}, which may resolve a change and update the state a checkpoint
+     * captures, so that a checkpoint sees either all of its effects or none of them.
+     */
+    public void record(Runnable changes) {
+        rotation.readLock().lock();
+        try {
+            changes.run();
+        } finally {
+            rotation.readLock().unlock();
+        }
+    }
+
+    /**
+     * Closes the current segment, carries in-flight intents over to a new one and runs
+     * {@code checkpoint} before any further append, then returns every sealed segment. The
+     * checkpoint must capture every change those segments resolve; they can be passed to
+     * {@link #delete} once it is durable.
+     */
+    public List<Path> seal(Runnable checkpoint) {
+        rotation.writeLock().lock();
+        try {
+            if (currentBytes.get() > 0) {
+                channel.force(false);
+                channel.close();
+                sealed.add(current);
+                openSegment();
+                if (!inFlight.isEmpty()) {
+                    StringBuilder carried = new StringBuilder();
+                    inFlight.values().forEach(intent -> carried.append(format(intent)));
+                    write(carried.toString(), true);
+                }
+            }
+            checkpoint.run();
+            return List.copyOf(sealed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rotate reservation journal " + current, e);
+        } finally {
+            rotation.writeLock().unlock();
+        }
+    }
+
+    /** The highest segment number in {@code segments}, to be stored with their checkpoint. */
+    public static long flushedThrough(List<Path> segments) {
+        return segments.stream().mapToLong(ReservationJournal::sequenceOf).max().orElse(-1);
+    }
+
+    public void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+                sealed.remove(segment);
+            } catch (IOException e) {
+                log.warn("Could not delete flushed journal segment {}", segment, e);
+            }
+        }
+    }
+
+    public void close() {
+        rotation.writeLock().lock();
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Could not close reservation journal {}", current, e);
+        } finally {
+            rotation.writeLock().unlock();
+        }
+    }
+
+    public long getCurrentSegmentBytes() { return currentBytes.get(); }
+    public int getSealedSegmentCount() { return sealed.size(); }
+    public int getInFlightCount() { return inFlight.size(); }
+
+    private void write(String records, boolean force) {
+        byte[] bytes = records.getBytes(StandardCharsets.UTF_8);
+        rotation.readLock().lock();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (force) {
+                channel.force(false);
+            }
+            currentBytes.addAndGet(bytes.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to reservation journal " + current, e);
+        } finally {
+            rotation.readLock().unlock();
+        }
+    }
+
+    private static String format(Intent intent) {
+        StringBuilder records = new StringBuilder();
+        for (Delta delta : intent.deltas()) {
+            records.append(INTENT).append('\t').append(intent.changeId()).append('\t')
+                    .append(delta.productId().value()).append('\t').append(delta.onHand()).append('\t')
+                    .append(delta.reserved()).append('\n');
+        }
+        for (StockMovement movement : intent.movements()) {
+            String reason = movement.getReason() == null ? "" : movement.getReason().replaceAll("[\t\r\n]", " ");
+            records.append(MOVEMENT).append('\t').append(intent.changeId()).append('\t')
+                    .append(movement.getProductId().value()).append('\t').append(movement.getType()).append('\t')
+                    .append(movement.getQuantity()).append('\t').append(movement.getOccurredAt()).append('\t')
+                    .append(reason).append('\n');
+        }
+        return records.toString();
+    }
+
+    private void openSegment() throws IOException {
+        current = directory.resolve(SEGMENT_PREFIX + nextSegment++ + SEGMENT_SUFFIX);
+        channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        currentBytes.set(0);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Collects intents per change id. An intent carried over by a seal appears again in a
+     * later segment; the earliest copy still present wins, since a later one may have been
+     * torn by a crash during the seal that wrote it.
+     */
+    private static void replay(Path segment, Map<String, Intent> intents, Set<String> committed,
+                               Set<String> aborted) throws IOException {
+        Map<String, Intent> inSegment = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                try {
+                    if (fields.length == 5 && fields[0].equals(INTENT)) {
+                        inSegment.computeIfAbsent(fields[1], Intent::empty).deltas().add(new Delta(
+                                new ProductId(Long.parseLong(fields[2])), Integer.parseInt(fields[3]),
+                                Integer.parseInt(fields[4])));
+                    } else if (fields.length == 7 && fields[0].equals(MOVEMENT)) {
+                        inSegment.computeIfAbsent(fields[1], Intent::empty).movements().add(new StockMovement(null,
+                                new ProductId(Long.parseLong(fields[2])), MovementType.valueOf(fields[3]),
+                                Integer.parseInt(fields[4]), fields[6], LocalDateTime.parse(fields[5])));
+                    } else if (fields.length == 2 && fields[0].equals(COMMITTED)) {
+                        committed.add(fields[1]);
+                    } else if (fields.length == 2 && fields[0].equals(ABORTED)) {
+                        aborted.add(fields[1]);
+                    } else {
+                        log.warn("Skipping torn journal record in {}: {}", segment, line);
+                    }
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    log.warn("Skipping torn journal record in {}: {}", segment, line);
+                }
+            }
+        }
+        inSegment.forEach(intents::putIfAbsent);
+    }
+
+    /** A change as prepared before commit: counter deltas per product and its stock movements. */
+    public record Intent(String changeId, List<Delta> deltas, List<StockMovement> movements) {
+
+        private static Intent empty(String changeId) {
+            return new Intent(changeId, new ArrayList<>(), new ArrayList<>());
+        }
+    }
+
+    public record Delta(ProductId productId, int onHand, int reserved) {}
+
+    public record Recovered(List<Intent> committed, List<Intent> unresolved) {}
+
+    public record CounterState(int quantityOnHand, int reservedQuantity, int reorderThreshold, long version) {
+
+        public int availableQuantity() {
+            return quantityOnHand - reservedQuantity;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.acme.shop.infrastructure.inventory;
+
+import com.acme.shop.domain.inventory.SalesVelocity;
+import com.acme.shop.domain.inventory.StockMovedEvent;
+import com.acme.shop.domain.inventory.StockMovement.MovementType;
+import com.acme.shop.domain.product.ProductId;
+import com.acme.shop.infrastructure.events.DomainEventConsumer;
+import com.acme.shop.ports.out.SalesVelocityIndex;
+import com.acme.shop.ports.out.StockLedger;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-product RESERVED, RELEASED and SHIPPED quantities over sliding windows, kept in fixed
+ * {@code int} rings of 60 minutes, 24 hours and 28 days with running sums, so a lookup
+ * costs the same whatever the sales volume. Live counts come from {@link StockMovedEvent}s
+ * on the event bus; at startup the rings are rebuilt from the last 28 days of the
+ * ledger, counting only movements that happened before this instance started.
+ */
+@Component
+public class SalesVelocityAggregator implements DomainEventConsumer, SalesVelocityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesVelocityAggregator.class);
+
+    private static final Set<MovementType> TRACKED = EnumSet.of(MovementType.RESERVED, MovementType.RELEASED,
+            MovementType.SHIPPED);
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final StockLedger stockLedger;
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final ConcurrentHashMap<ProductId, Counters> counters = new ConcurrentHashMap<>();
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+
+    public SalesVelocityAggregator(StockLedger stockLedger) {
+        this.stockLedger = stockLedger;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime since = LocalDateTime.now().minusDays(SalesVelocity.DAYS);
+        long startedAt = System.nanoTime();
+        stockLedger.streamSince(since, TRACKED, movement -> {
+            long at = movement.getOccurredAt().atZone(zone).toInstant().toEpochMilli();
+            if (at < startedAtMillis) {
+                add(movement.getProductId(), movement.getType(), movement.getQuantity(), at);
+                replayed.incrementAndGet();
+            }
+        });
+        log.info("Rebuilt sales velocity for {} products from {} ledger movements in {} ms", counters.size(),
+                replayed.get(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @Override
+    public void onEvent(Object event, boolean endOfBatch) {
+        if (event instanceof StockMovedEvent moved && TRACKED.contains(moved.type())) {
+            add(moved.productId(), moved.type(), moved.quantity(), moved.occurredAt().toEpochMilli());
+            recorded.incrementAndGet();
+        }
+    }
+
+    @Override
+    public SalesVelocity find(ProductId productId) {
+        Counters product = counters.get(productId);
+        return product == null ? SalesVelocity.none(productId)
+                : product.snapshot(productId, System.currentTimeMillis());
+    }
+
+    public int getTrackedProductCount() { return counters.size(); }
+    public long getRecordedCount() { return recorded.get(); }
+    public long getReplayedCount() { return replayed.get(); }
+
+    private void add(ProductId productId, MovementType type, int quantity, long atMillis) {
+        counters.computeIfAbsent(productId, id -> new Counters()).add(type, quantity, atMillis);
+    }
+
+    private static final class Counters {
+
+        private final Ring reservedMinutes = new Ring(60);
+        private final Ring reservedHours = new Ring(24);
+        private final Ring reservedDays = new Ring(SalesVelocity.DAYS);
+        private final Ring releasedMinutes = new Ring(60);
+        private final Ring releasedHours = new Ring(24);
+        private final Ring releasedDays = new Ring(SalesVelocity.DAYS);
+        private final Ring shippedMinutes = new Ring(60);
+        private final Ring shippedHours = new Ring(24);
+        private final Ring shippedDays = new Ring(SalesVelocity.DAYS);
+
+        synchronized void add(MovementType type, int quantity, long atMillis) {
+            switch (type) {
+                case RESERVED -> add(reservedMinutes, reservedHours, reservedDays, quantity, atMillis);
+                case RELEASED -> add(releasedMinutes, releasedHours, releasedDays, quantity, atMillis);
+                default -> add(shippedMinutes, shippedHours, shippedDays, quantity, atMillis);
+            }
+        }
+
+        private static void add(Ring minutes, Ring hours, Ring days, int quantity, long atMillis) {
+            minutes.add(atMillis / MINUTE, quantity);
+            hours.add(atMillis / HOUR, quantity);
+            days.add(atMillis / DAY, quantity);
+        }
+
+        synchronized SalesVelocity snapshot(ProductId productId, long nowMillis) {
+            long minute = nowMillis / MINUTE;
+            long hour = nowMillis / HOUR;
+            long day = nowMillis / DAY;
+            return new SalesVelocity(productId,
+                    reservedMinutes.sum(minute), reservedHours.sum(hour), reservedDays.sum(day),
+                    releasedMinutes.sum(minute), releasedHours.sum(hour), releasedDays.sum(day),
+                    shippedMinutes.sum(minute), shippedHours.sum(hour), shippedDays.sum(day), 0);
+        }
+    }
+
+    /** Ring of per-period counts; advancing drops the periods that slid out of the window. */
+    private static final class Ring {
+
+        private final int[] counts;
+        private long head = Long.MIN_VALUE;
+        private long sum;
+
+        Ring(int periods) {
+            this.counts = new int[periods];
+        }
+
+        void add(long period, int quantity) {
+            advance(period);
+            if (period <= head - counts.length) {
+                return;
+            }
+            counts[index(period)] += quantity;
+            sum += quantity;
+        }
+
+        long sum(long period) {
+            advance(period);
+            return sum;
+        }
+
+        private void advance(long period) {
+            if (period <= head) {
+                return;
+            }
+            if (head == Long.MIN_VALUE || period - head >= counts.length) {
+                Arrays.fill(counts, 0);
+                sum = 0;
+            } else {
+                for (long p = head + 1; p <= period; p++) {
+                    int i = index(p);
+                    sum -= counts[i];
+                    counts[i] = 0;
+                }
+            }
+            head = period;
+        }
+
+        private int index(long period) {
+            return (int) Math.floorMod(period, (long) counts.length);
+        }
+    }
+}
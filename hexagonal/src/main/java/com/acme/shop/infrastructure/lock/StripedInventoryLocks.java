@@ -0,0 +1,138 @@
+package com.acme.shop.infrastructure.lock;
+
+import com.acme.shop.domain.product.ProductId;
+import com.acme.shop.ports.out.InventoryLocks;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Serializes inventory writes per product. In {@code ROW} mode the inventory rows are
+ * locked with {@code SELECT ... FOR UPDATE} in ascending product id order before they are
+ * loaded, so concurrent carts sharing SKUs queue on the database instead of deadlocking.
+ * In {@code OPTIMISTIC} mode it does nothing and concurrent writers are caught by the
+ * inventory version check instead; in {@code STRIPED} mode each product maps to one of a
+ * fixed number of locks inside this JVM, held until the surrounding transaction completes
+ * so no other writer can read uncommitted counters. Stripes are always taken in ascending
+ * order and each attempt is bounded by a timeout.
+ */
+@Component
+public class StripedInventoryLocks implements InventoryLocks {
+
+    public enum Mode {
+        ROW,
+        OPTIMISTIC,
+        STRIPED
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Mode mode;
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    private final int maxAttempts;
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong contended = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    public StripedInventoryLocks(
+            JdbcTemplate jdbcTemplate,
+            @Value("${shop.inventory.locking.mode:ROW}") Mode mode,
+            @Value("${shop.inventory.locking.stripes:256}") int stripeCount,
+            @Value("${shop.inventory.locking.timeout:PT0.2S}") Duration timeout,
+            @Value("${shop.inventory.locking.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mode = mode;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeout.toMillis();
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public void lockForUpdate(Collection<ProductId> productIds) {
+        if (mode == Mode.OPTIMISTIC || productIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Inventory locks require an active transaction");
+        }
+        if (mode == Mode.ROW) {
+            lockRows(productIds);
+            return;
+        }
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (ProductId productId : productIds) {
+            indexes.add(Math.floorMod(productId.value().hashCode(), stripes.length));
+        }
+
+        List<ReentrantLock> held = acquire(indexes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(held);
+            }
+        });
+    }
+
+    public Mode getMode() { return mode; }
+    public long getAcquisitionCount() { return acquisitions.get(); }
+    public long getContendedCount() { return contended.get(); }
+    public long getTimeoutCount() { return timeouts.get(); }
+
+    private void lockRows(Collection<ProductId> productIds) {
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        jdbcTemplate.queryForList(
+                "SELECT id FROM inventory WHERE product_id IN (" + placeholders + ") ORDER BY product_id FOR UPDATE",
+                Long.class, productIds.stream().map(ProductId::value).toArray());
+        acquisitions.incrementAndGet();
+    }
+
+    private List<ReentrantLock> acquire(TreeSet<Integer> indexes) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            List<ReentrantLock> held = new ArrayList<>(indexes.size());
+            try {
+                for (int index : indexes) {
+                    ReentrantLock lock = stripes[index];
+                    if (!lock.tryLock()) {
+                        contended.incrementAndGet();
+                        if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                            break;
+                        }
+                    }
+                    held.add(lock);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unlock(held);
+                throw new IllegalStateException("Interrupted while locking inventory", e);
+            }
+            if (held.size() == indexes.size()) {
+                acquisitions.incrementAndGet();
+                return held;
+            }
+            unlock(held);
+            timeouts.incrementAndGet();
+        }
+        throw new IllegalStateException("Inventory is busy, could not lock " + indexes.size()
+                + " stock records after " + maxAttempts + " attempts");
+    }
+
+    private static void unlock(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.acme.shop.infrastructure.outbox;
+
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "shop.outbox.sinks.in-process", havingValue = "true", matchIfMissing = true)
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final List<OutboxListener> listeners;
+
+    public InProcessOutboxSink(ObjectProvider<OutboxListener> listeners) {
+        this.listeners = listeners.orderedStream().toList();
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            for (OutboxListener listener : listeners) {
+                listener.onMessage(message);
+            }
+        }
+    }
+}
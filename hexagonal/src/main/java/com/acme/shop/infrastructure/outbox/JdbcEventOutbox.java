@@ -0,0 +1,52 @@
+package com.acme.shop.infrastructure.outbox;
+
+import com.acme.shop.domain.order.OrderPlacedEvent;
+import com.acme.shop.ports.out.EventOutbox;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JdbcEventOutbox implements EventOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_event (aggregate_type, aggregate_id, event_type, payload, occurred_at) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public JdbcEventOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void append(OrderPlacedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", event.orderId().value());
+        payload.put("customerId", event.customerId().value());
+        payload.put("totalAmount", event.totalAmount().amount());
+        payload.put("currency", event.totalAmount().currency());
+        payload.put("occurredAt", event.occurredAt().toString());
+
+        jdbcTemplate.update(INSERT_SQL,
+                "Order",
+                event.orderId().value(),
+                "OrderPlacedEvent",
+                toJson(payload),
+                Timestamp.from(event.occurredAt()));
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.acme.shop.infrastructure.outbox;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in for a message broker: one bounded in-memory topic per event type.
+ * A full topic rejects the batch, which the relay retries on its next run.
+ */
+@Component
+@ConditionalOnProperty(name = "shop.outbox.sinks.broker", havingValue = "true")
+public class LocalBrokerOutboxSink implements OutboxSink {
+
+    private final int topicCapacity;
+    private final Map<String, BlockingQueue<OutboxMessage>> topics = new ConcurrentHashMap<>();
+
+    public LocalBrokerOutboxSink(@Value("${shop.outbox.broker.topic-capacity:100000}") int topicCapacity) {
+        this.topicCapacity = topicCapacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            if (topic(message.eventType()).remainingCapacity() == 0) {
+                throw new IllegalStateException("Topic " + message.eventType() + " is full");
+            }
+        }
+        for (OutboxMessage message : messages) {
+            topic(message.eventType()).add(message);
+        }
+    }
+
+    public BlockingQueue<OutboxMessage> topic(String eventType) {
+        return topics.computeIfAbsent(eventType, type -> new LinkedBlockingQueue<>(topicCapacity));
+    }
+}
@@ -0,0 +1,5 @@
+package com.acme.shop.infrastructure.outbox;
+
+public interface OutboxListener {
+    void onMessage(OutboxMessage message);
+}
@@ -0,0 +1,12 @@
+package com.acme.shop.infrastructure.outbox;
+
+import java.time.Instant;
+
+public record OutboxMessage(
+        long id,
+        String aggregateType,
+        long aggregateId,
+        String eventType,
+        String payload,
+        Instant occurredAt) {
+}
@@ -0,0 +1,133 @@
+package com.acme.shop.infrastructure.outbox;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes pending outbox rows in id order, batch by batch, to every configured sink and
+ * only then marks them published. Rows are never skipped, so events of one aggregate are
+ * delivered in the order they were recorded, at least once. Published rows are kept for
+ * {@code shop.outbox.retention} and then deleted in batches, so the table and the pending
+ * index the relay polls stay bounded.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SELECT_PENDING_SQL =
+            "SELECT id, aggregate_type, aggregate_id, event_type, payload, occurred_at FROM outbox_event "
+                    + "WHERE published_at IS NULL ORDER BY id LIMIT ?";
+    private static final String MARK_PUBLISHED_SQL =
+            "UPDATE outbox_event SET published_at = ? WHERE id = ?";
+    private static final String OLDEST_PENDING_SQL =
+            "SELECT MIN(occurred_at) FROM outbox_event WHERE published_at IS NULL";
+    private static final String COUNT_PENDING_SQL =
+            "SELECT COUNT(*) FROM outbox_event WHERE published_at IS NULL";
+    private static final String SELECT_EXPIRED_SQL =
+            "SELECT id FROM outbox_event WHERE published_at < ? ORDER BY published_at, id LIMIT ?";
+    private static final String DELETE_SQL = "DELETE FROM outbox_event WHERE id = ?";
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getString("aggregate_type"),
+            rs.getLong("aggregate_id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("occurred_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final Duration retention;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong purged = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile long lagMillis;
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<OutboxSink> sinks,
+            @Value("${shop.outbox.batch-size:500}") int batchSize,
+            @Value("${shop.outbox.retention:P7D}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sinks = sinks.orderedStream().toList();
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.outbox.poll-interval:PT1S}")
+    public void relay() {
+        try {
+            List<OutboxMessage> batch;
+            do {
+                batch = jdbcTemplate.query(SELECT_PENDING_SQL, ROW_MAPPER, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (OutboxSink sink : sinks) {
+                    sink.publish(batch);
+                }
+                markPublished(batch);
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            failedBatches.incrementAndGet();
+            log.warn("Outbox relay stopped, pending events will be retried", e);
+        } finally {
+            updateLag();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shop.outbox.purge-interval:PT1H}")
+    public void purgePublished() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(retention));
+        try {
+            List<Long> ids;
+            do {
+                ids = jdbcTemplate.queryForList(SELECT_EXPIRED_SQL, Long.class, cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                jdbcTemplate.batchUpdate(DELETE_SQL, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+                purged.addAndGet(ids.size());
+            } while (ids.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox purge stopped, published events will be purged on the next run", e);
+        }
+    }
+
+    public long getPublishedCount() { return published.get(); }
+    public long getPurgedCount() { return purged.get(); }
+    public long getFailedBatchCount() { return failedBatches.get(); }
+    public long getLagMillis() { return lagMillis; }
+
+    public long getPendingCount() {
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING_SQL, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private void markPublished(List<OutboxMessage> batch) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(MARK_PUBLISHED_SQL, batch, batch.size(), (ps, message) -> {
+            ps.setTimestamp(1, now);
+            ps.setLong(2, message.id());
+        });
+        published.addAndGet(batch.size());
+    }
+
+    private void updateLag() {
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_PENDING_SQL, Timestamp.class);
+        lagMillis = oldest == null ? 0 : Duration.between(oldest.toInstant(), Instant.now()).toMillis();
+    }
+}
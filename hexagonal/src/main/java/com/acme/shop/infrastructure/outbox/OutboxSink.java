@@ -0,0 +1,11 @@
+package com.acme.shop.infrastructure.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for relayed outbox messages. Messages arrive in outbox order; a sink
+ * that throws leaves the whole batch pending, so the same messages may be delivered again.
+ */
+public interface OutboxSink {
+    void publish(List<OutboxMessage> messages);
+}
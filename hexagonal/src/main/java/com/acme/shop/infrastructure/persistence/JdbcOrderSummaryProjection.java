@@ -0,0 +1,180 @@
+package com.acme.shop.infrastructure.persistence;
+
+import com.acme.shop.domain.customer.CustomerId;
+import com.acme.shop.domain.order.Money;
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.domain.order.OrderSummary;
+import com.acme.shop.ports.out.OrderSummaryProjection;
+import com.acme.shop.ports.out.OrderSummaryQuery;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Flat, one-row-per-order read model kept in step with the aggregate by
+ * {@link OrderSummaryProjector}, so status pages never load lines, customers or products.
+ *
+ * <p>Commit callbacks of concurrent transactions may deliver status changes out of order,
+ * so a status update only applies to a row whose status is not further along; statuses
+ * only move forward. The upsert uses H2's {@code MERGE ... KEY} form and needs porting
+ * to {@code MERGE ... USING} or {@code INSERT ... ON CONFLICT} on another database.
+ */
+@Component
+public class JdbcOrderSummaryProjection implements OrderSummaryProjection, OrderSummaryQuery {
+
+    private static final String COLUMNS = "order_id, order_number, customer_id, customer_name, status, "
+            + "total_amount, currency, line_count, placed_at, updated_at";
+    private static final String MERGE_SQL =
+            "MERGE INTO order_summary (" + COLUMNS + ") KEY (order_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SQL =
+            "INSERT INTO order_summary (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final Map<OrderStatus, String> UPDATE_STATUS_SQL = updateStatusStatements();
+    private static final String UPDATE_CUSTOMER_NAME_SQL =
+            "UPDATE order_summary SET customer_name = ? WHERE customer_id = ?";
+    private static final String SELECT_BY_ID_SQL = "SELECT " + COLUMNS + " FROM order_summary WHERE order_id = ?";
+    private static final String SELECT_BY_NUMBER_SQL =
+            "SELECT " + COLUMNS + " FROM order_summary WHERE order_number = ?";
+    private static final String SELECT_STATUS_SQL = "SELECT status FROM order_summary WHERE order_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcOrderSummaryProjection(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void save(OrderSummary summary) {
+        jdbcTemplate.update(MERGE_SQL, toRow(summary));
+    }
+
+    @Override
+    public void saveAll(List<OrderSummary> summaries) {
+        List<Object[]> rows = new ArrayList<>(summaries.size());
+        for (OrderSummary summary : summaries) {
+            rows.add(toRow(summary));
+        }
+        jdbcTemplate.batchUpdate(MERGE_SQL, rows);
+    }
+
+    @Override
+    public void saveIfAbsent(OrderSummary summary) {
+        // Repairs come from read-only lookups, so the row is written once that transaction is over
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    insertIfAbsent(summary);
+                }
+            });
+        } else {
+            insertIfAbsent(summary);
+        }
+    }
+
+    @Override
+    public void updateStatus(OrderId orderId, OrderStatus status) {
+        jdbcTemplate.update(UPDATE_STATUS_SQL.get(status),
+                status.name(), Timestamp.valueOf(LocalDateTime.now()), orderId.value());
+    }
+
+    @Override
+    public void updateStatus(Collection<OrderId> orderIds, OrderStatus status) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(orderIds.size());
+        for (OrderId orderId : orderIds) {
+            rows.add(new Object[] {status.name(), now, orderId.value()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL.get(status), rows);
+    }
+
+    @Override
+    public void updateCustomerName(CustomerId customerId, String customerName) {
+        jdbcTemplate.update(UPDATE_CUSTOMER_NAME_SQL, customerName, customerId.value());
+    }
+
+    @Override
+    public Optional<OrderSummary> findById(OrderId orderId) {
+        return jdbcTemplate.query(SELECT_BY_ID_SQL, JdbcOrderSummaryProjection::mapRow, orderId.value())
+                .stream().findFirst();
+    }
+
+    @Override
+    public Optional<OrderSummary> findByOrderNumber(String orderNumber) {
+        return jdbcTemplate.query(SELECT_BY_NUMBER_SQL, JdbcOrderSummaryProjection::mapRow, orderNumber)
+                .stream().findFirst();
+    }
+
+    @Override
+    public Optional<OrderStatus> findStatusById(OrderId orderId) {
+        return jdbcTemplate.query(SELECT_STATUS_SQL, (rs, rowNum) -> OrderStatus.valueOf(rs.getString(1)),
+                orderId.value()).stream().findFirst();
+    }
+
+    /** One statement per target status, skipping rows already at that status or further along. */
+    private static Map<OrderStatus, String> updateStatusStatements() {
+        Map<OrderStatus, String> statements = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            StringJoiner reached = new StringJoiner("', '", "('", "')");
+            for (OrderStatus later : OrderStatus.values()) {
+                if (later.compareTo(status) >= 0) {
+                    reached.add(later.name());
+                }
+            }
+            statements.put(status, "UPDATE order_summary SET status = ?, updated_at = ? "
+                    + "WHERE order_id = ? AND status NOT IN " + reached);
+        }
+        return statements;
+    }
+
+    private void insertIfAbsent(OrderSummary summary) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, toRow(summary));
+        } catch (DuplicateKeyException e) {
+            // The projector wrote the row meanwhile, and its copy is at least as recent
+        }
+    }
+
+    private static Object[] toRow(OrderSummary summary) {
+        return new Object[] {
+                summary.orderId().value(),
+                summary.orderNumber(),
+                summary.customerId().value(),
+                summary.customerName(),
+                summary.status().name(),
+                summary.totalAmount().amount(),
+                summary.totalAmount().currency(),
+                summary.lineCount(),
+                summary.placedAt() != null ? Timestamp.valueOf(summary.placedAt()) : null,
+                Timestamp.valueOf(summary.updatedAt())
+        };
+    }
+
+    private static OrderSummary mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp placedAt = rs.getTimestamp("placed_at");
+        return new OrderSummary(
+                new OrderId(rs.getLong("order_id")),
+                rs.getString("order_number"),
+                new CustomerId(rs.getLong("customer_id")),
+                rs.getString("customer_name"),
+                OrderStatus.valueOf(rs.getString("status")),
+                Money.of(rs.getBigDecimal("total_amount"), rs.getString("currency")),
+                rs.getInt("line_count"),
+                placedAt != null ? placedAt.toLocalDateTime() : null,
+                rs.getTimestamp("updated_at").toLocalDateTime());
+    }
+}
@@ -0,0 +1,133 @@
+package com.acme.shop.infrastructure.persistence;
+
+import com.acme.shop.domain.product.ProductId;
+import com.acme.shop.ports.out.ShardedStock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Available stock of flash-sale products split across rows of {@code inventory_bucket}.
+ * Every decrement is a single guarded UPDATE on one bucket, so concurrent checkouts
+ * contend on a random bucket row rather than on the product's inventory row. A request
+ * no single bucket can serve borrows from several, always in ascending bucket order so
+ * two borrowers lock rows in the same order and cannot deadlock.
+ */
+@Component
+public class JdbcShardedStock implements ShardedStock {
+
+    private static final String SELECT_BUCKETS_SQL =
+            "SELECT bucket, available FROM inventory_bucket WHERE product_id = ? ORDER BY bucket";
+    private static final String LOCK_BUCKETS_SQL =
+            "SELECT bucket, available, movements FROM inventory_bucket WHERE product_id = ? ORDER BY bucket FOR UPDATE";
+    private static final String TAKE_SQL =
+            "UPDATE inventory_bucket SET available = available - ?, movements = movements + 1 "
+                    + "WHERE product_id = ? AND bucket = ? AND available >= ?";
+    private static final String GIVE_SQL =
+            "UPDATE inventory_bucket SET available = available + ?, movements = movements + 1 "
+                    + "WHERE product_id = ? AND bucket = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory_bucket (product_id, bucket, available) VALUES (?, ?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM inventory_bucket WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcShardedStock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<ProductId, Integer> findAvailable(Collection<ProductId> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        Map<ProductId, Integer> available = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT product_id, SUM(available) FROM inventory_bucket WHERE product_id IN (" + placeholders
+                        + ") GROUP BY product_id",
+                (rs, rowNum) -> available.put(new ProductId(rs.getLong(1)), rs.getInt(2)),
+                productIds.stream().map(ProductId::value).toArray());
+        return available;
+    }
+
+    @Override
+    public boolean tryReserve(ProductId productId, int quantity) {
+        List<Bucket> buckets = jdbcTemplate.query(SELECT_BUCKETS_SQL,
+                (rs, rowNum) -> new Bucket(rs.getInt("bucket"), rs.getInt("available")), productId.value());
+        if (buckets.isEmpty()) {
+            return false;
+        }
+        int start = ThreadLocalRandom.current().nextInt(buckets.size());
+        for (int i = 0; i < buckets.size(); i++) {
+            Bucket bucket = buckets.get((start + i) % buckets.size());
+            if (bucket.available() >= quantity && take(productId, bucket.index(), quantity)) {
+                return true;
+            }
+        }
+
+        int remaining = quantity;
+        List<Bucket> taken = new ArrayList<>();
+        for (int i = 0; i < buckets.size() && remaining > 0; i++) {
+            Bucket bucket = buckets.get(i);
+            int portion = Math.min(bucket.available(), remaining);
+            if (portion > 0 && take(productId, bucket.index(), portion)) {
+                taken.add(new Bucket(bucket.index(), portion));
+                remaining -= portion;
+            }
+        }
+        if (remaining > 0) {
+            taken.forEach(bucket -> give(productId, bucket.index(), bucket.available()));
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void release(ProductId productId, int quantity) {
+        List<Bucket> buckets = jdbcTemplate.query(SELECT_BUCKETS_SQL,
+                (rs, rowNum) -> new Bucket(rs.getInt("bucket"), rs.getInt("available")), productId.value());
+        if (buckets.isEmpty()) {
+            throw new IllegalStateException("Stock is not sharded for product: " + productId);
+        }
+        give(productId, buckets.get(ThreadLocalRandom.current().nextInt(buckets.size())).index(), quantity);
+    }
+
+    @Override
+    public void create(ProductId productId, int bucketCount, int quantity) {
+        List<Object[]> rows = new ArrayList<>(bucketCount);
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            int share = quantity / bucketCount + (bucket < quantity % bucketCount ? 1 : 0);
+            rows.add(new Object[] {productId.value(), bucket, share});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    @Override
+    public DrainedStock drain(ProductId productId) {
+        List<DrainedStock> buckets = jdbcTemplate.query(LOCK_BUCKETS_SQL,
+                (rs, rowNum) -> new DrainedStock(rs.getInt("available"), rs.getInt("movements")), productId.value());
+        if (buckets.isEmpty()) {
+            throw new IllegalStateException("Stock is not sharded for product: " + productId);
+        }
+        jdbcTemplate.update(DELETE_SQL, productId.value());
+        return new DrainedStock(buckets.stream().mapToInt(DrainedStock::available).sum(),
+                buckets.stream().mapToInt(DrainedStock::movements).sum());
+    }
+
+    private boolean take(ProductId productId, int bucket, int quantity) {
+        return jdbcTemplate.update(TAKE_SQL, quantity, productId.value(), bucket, quantity) == 1;
+    }
+
+    private void give(ProductId productId, int bucket, int quantity) {
+        jdbcTemplate.update(GIVE_SQL, quantity, productId.value(), bucket);
+    }
+
+    private record Bucket(int index, int available) {}
+}
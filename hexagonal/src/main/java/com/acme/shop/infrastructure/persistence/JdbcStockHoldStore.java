@@ -0,0 +1,137 @@
+package com.acme.shop.infrastructure.persistence;
+
+import com.acme.shop.domain.inventory.StockHold;
+import com.acme.shop.domain.inventory.StockHoldId;
+import com.acme.shop.domain.product.ProductId;
+import com.acme.shop.ports.out.StockHoldStore;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Outstanding stock holds, one {@code stock_hold} row per held product. The rows are
+ * the durable record only; expiry is driven by the in-memory scheduler, which reads
+ * this table once at startup.
+ */
+@Component
+public class JdbcStockHoldStore implements StockHoldStore {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_hold (hold_id, product_id, quantity, expires_at) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_COLUMNS = "SELECT hold_id, product_id, quantity, expires_at FROM stock_hold ";
+    private static final String DELETE_SQL = "DELETE FROM stock_hold WHERE hold_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcStockHoldStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void save(StockHold hold) {
+        Timestamp expiresAt = Timestamp.from(hold.expiresAt());
+        List<Object[]> rows = new ArrayList<>();
+        hold.quantities().forEach((productId, quantity) ->
+                rows.add(new Object[] {hold.id().value(), productId.value(), quantity, expiresAt}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    @Override
+    public Optional<StockHold> findById(StockHoldId id) {
+        return findAllById(List.of(id)).stream().findFirst();
+    }
+
+    @Override
+    public List<StockHold> findAllById(Collection<StockHoldId> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        HoldAssembler assembler = new HoldAssembler(null);
+        jdbcTemplate.query(SELECT_COLUMNS + "WHERE hold_id IN (" + placeholders + ") ORDER BY hold_id",
+                assembler::accept, ids.stream().map(StockHoldId::value).toArray());
+        return assembler.finish();
+    }
+
+    @Override
+    public boolean deleteById(StockHoldId id) {
+        return jdbcTemplate.update(DELETE_SQL, id.value()) > 0;
+    }
+
+    @Override
+    public Set<StockHoldId> deleteAllById(Collection<StockHoldId> ids) {
+        List<StockHoldId> ordered = new ArrayList<>(ids);
+        int[] counts = jdbcTemplate.batchUpdate(DELETE_SQL,
+                ordered.stream().map(id -> new Object[] {id.value()}).toList());
+        Set<StockHoldId> deleted = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                deleted.add(ordered.get(i));
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public void forEach(Consumer<StockHold> consumer) {
+        HoldAssembler assembler = new HoldAssembler(consumer);
+        jdbcTemplate.query(SELECT_COLUMNS + "ORDER BY hold_id", assembler::accept);
+        assembler.finish();
+    }
+
+    /** Folds consecutive rows of the same hold into one {@link StockHold}. */
+    private static final class HoldAssembler {
+
+        private final Consumer<StockHold> sink;
+        private final List<StockHold> collected = new ArrayList<>();
+        private String holdId;
+        private Instant expiresAt;
+        private Map<ProductId, Integer> quantities = new LinkedHashMap<>();
+
+        HoldAssembler(Consumer<StockHold> sink) {
+            this.sink = sink;
+        }
+
+        void accept(ResultSet rs) throws SQLException {
+            String rowHoldId = rs.getString("hold_id");
+            if (!rowHoldId.equals(holdId)) {
+                emit();
+                holdId = rowHoldId;
+                expiresAt = rs.getTimestamp("expires_at").toInstant();
+            }
+            quantities.put(new ProductId(rs.getLong("product_id")), rs.getInt("quantity"));
+        }
+
+        List<StockHold> finish() {
+            emit();
+            return collected;
+        }
+
+        private void emit() {
+            if (holdId == null) {
+                return;
+            }
+            StockHold hold = new StockHold(new StockHoldId(holdId), quantities, expiresAt);
+            if (sink != null) {
+                sink.accept(hold);
+            } else {
+                collected.add(hold);
+            }
+            quantities = new LinkedHashMap<>();
+            holdId = null;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.acme.shop.infrastructure.persistence;
+
+import com.acme.shop.domain.inventory.StockMovement;
+import com.acme.shop.domain.inventory.StockMovement.MovementType;
+import com.acme.shop.domain.inventory.StockSnapshot;
+import com.acme.shop.domain.product.ProductId;
+import com.acme.shop.ports.out.StockLedger;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only stock movement ledger and counter snapshots, kept outside the
+ * Inventory aggregate so loading a stock record never hydrates its history. The
+ * references of applied stock updates are kept alongside, so a replayed feed line is
+ * recognised; the primary key rejects a reference claimed by a concurrent import.
+ */
+@Component
+public class JdbcStockLedger implements StockLedger {
+
+    private static final String INSERT_MOVEMENT_SQL =
+            "INSERT INTO stock_ledger (product_id, type, quantity, reason, occurred_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_REFERENCE_SQL =
+            "INSERT INTO stock_update_reference (reference, applied_at) VALUES (?, ?)";
+    private static final String INSERT_SNAPSHOT_SQL =
+            "INSERT INTO stock_snapshot (product_id, quantity_on_hand, reserved_quantity, taken_at) VALUES (?, ?, ?, ?)";
+    private static final String LATEST_SNAPSHOT_SQL =
+            "SELECT product_id, quantity_on_hand, reserved_quantity, taken_at FROM stock_snapshot "
+                    + "WHERE product_id = ? ORDER BY id DESC LIMIT 1";
+    private static final String MOVEMENTS_SINCE_SQL =
+            "SELECT id, product_id, type, quantity, reason, occurred_at FROM stock_ledger "
+                    + "WHERE product_id = ? AND occurred_at > ? ORDER BY id LIMIT ?";
+
+    private static final RowMapper<StockMovement> MOVEMENT_MAPPER = (rs, rowNum) -> new StockMovement(
+            rs.getLong("id"),
+            new ProductId(rs.getLong("product_id")),
+            MovementType.valueOf(rs.getString("type")),
+            rs.getInt("quantity"),
+            rs.getString("reason"),
+            rs.getTimestamp("occurred_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public JdbcStockLedger(JdbcTemplate jdbcTemplate, @Value("${shop.inventory.ledger.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void append(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, movements, batchSize, (ps, movement) -> {
+            ps.setLong(1, movement.getProductId().value());
+            ps.setString(2, movement.getType().name());
+            ps.setInt(3, movement.getQuantity());
+            ps.setString(4, movement.getReason());
+            ps.setTimestamp(5, Timestamp.valueOf(movement.getOccurredAt()));
+        });
+    }
+
+    @Override
+    public void appendSnapshot(StockSnapshot snapshot) {
+        jdbcTemplate.update(INSERT_SNAPSHOT_SQL,
+                snapshot.productId().value(),
+                snapshot.quantityOnHand(),
+                snapshot.reservedQuantity(),
+                Timestamp.valueOf(snapshot.takenAt()));
+    }
+
+    @Override
+    public Optional<StockSnapshot> findLatestSnapshot(ProductId productId) {
+        return jdbcTemplate.query(LATEST_SNAPSHOT_SQL, (rs, rowNum) -> new StockSnapshot(
+                        new ProductId(rs.getLong("product_id")),
+                        rs.getInt("quantity_on_hand"),
+                        rs.getInt("reserved_quantity"),
+                        rs.getTimestamp("taken_at").toLocalDateTime()),
+                productId.value()).stream().findFirst();
+    }
+
+    @Override
+    public List<StockMovement> findByProductIdSince(ProductId productId, LocalDateTime since, int limit) {
+        return jdbcTemplate.query(MOVEMENTS_SINCE_SQL, MOVEMENT_MAPPER, productId.value(), Timestamp.valueOf(since), limit);
+    }
+
+    @Override
+    public void streamSince(LocalDateTime since, Collection<MovementType> types, Consumer<StockMovement> consumer) {
+        if (types.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(types.size(), "?"));
+        Object[] args = Stream.concat(Stream.of(Timestamp.valueOf(since)), types.stream().map(MovementType::name))
+                .toArray();
+        jdbcTemplate.query("SELECT id, product_id, type, quantity, reason, occurred_at FROM stock_ledger "
+                        + "WHERE occurred_at >= ? AND type IN (" + placeholders + ") ORDER BY occurred_at, id",
+                (RowCallbackHandler) rs -> consumer.accept(MOVEMENT_MAPPER.mapRow(rs, 0)), args);
+    }
+
+    @Override
+    public Set<String> findAppliedReferences(Collection<String> references) {
+        if (references.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(references.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT reference FROM stock_update_reference WHERE reference IN (" + placeholders + ")",
+                String.class, references.toArray()));
+    }
+
+    @Override
+    public void appendReferences(Collection<String> references) {
+        if (references.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_REFERENCE_SQL, references, batchSize, (ps, reference) -> {
+            ps.setString(1, reference);
+            ps.setTimestamp(2, now);
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.acme.shop.infrastructure.persistence;
+
+import com.acme.shop.domain.customer.CustomerId;
+import com.acme.shop.domain.order.Money;
+import com.acme.shop.domain.order.OrderCursor;
+import com.acme.shop.domain.order.OrderHistoryEntry;
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.ports.out.OrderHistoryQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keyset queries over the generated {@code OrderJpaEntity}. Only scalar columns are
+ * selected, so order lines are never loaded; the line count is computed in SQL.
+ */
+@Component
+public class JpaOrderHistoryQuery implements OrderHistoryQuery {
+
+    private static final String SELECT = "SELECT o.id, o.orderNumber, o.status, o.totalAmount.amount, "
+            + "o.totalAmount.currency, SIZE(o.lines), o.placedAt FROM OrderJpaEntity o "
+            + "WHERE o.customerId = :customerId AND o.placedAt IS NOT NULL";
+    private static final String AFTER_CURSOR =
+            " AND (o.placedAt < :placedAt OR (o.placedAt = :placedAt AND o.id < :orderId))";
+    private static final String NEWEST_FIRST = " ORDER BY o.placedAt DESC, o.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int fetchSize;
+
+    public JpaOrderHistoryQuery(@Value("${shop.orders.history.fetch-size:500}") int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public List<OrderHistoryEntry> findByCustomer(CustomerId customerId, OrderCursor after, int limit) {
+        TypedQuery<Object[]> query = entityManager
+                .createQuery(SELECT + (after != null ? AFTER_CURSOR : "") + NEWEST_FIRST, Object[].class)
+                .setParameter("customerId", customerId.value())
+                .setMaxResults(limit);
+        if (after != null) {
+            query.setParameter("placedAt", after.placedAt());
+            query.setParameter("orderId", after.orderId().value());
+        }
+        return query.getResultList().stream().map(JpaOrderHistoryQuery::toEntry).toList();
+    }
+
+    @Override
+    public void forEachByCustomer(CustomerId customerId, Consumer<OrderHistoryEntry> consumer) {
+        TypedQuery<Object[]> query = entityManager
+                .createQuery(SELECT + NEWEST_FIRST, Object[].class)
+                .setParameter("customerId", customerId.value())
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true);
+        try (Stream<Object[]> rows = query.getResultStream()) {
+            rows.map(JpaOrderHistoryQuery::toEntry).forEach(consumer);
+        }
+    }
+
+    private static OrderHistoryEntry toEntry(Object[] row) {
+        String currency = (String) row[4];
+        return new OrderHistoryEntry(
+                new OrderId(((Number) row[0]).longValue()),
+                (String) row[1],
+                OrderStatus.valueOf(row[2].toString()),
+                Money.of((BigDecimal) row[3], currency),
+                ((Number) row[5]).intValue(),
+                (LocalDateTime) row[6]);
+    }
+}
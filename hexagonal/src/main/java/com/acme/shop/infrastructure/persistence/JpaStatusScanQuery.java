@@ -0,0 +1,55 @@
+package com.acme.shop.infrastructure.persistence;
+
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.domain.payment.PaymentId;
+import com.acme.shop.domain.payment.PaymentStatus;
+import com.acme.shop.ports.out.StatusScanQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keyset scans over the generated {@code OrderJpaEntity} and {@code PaymentJpaEntity}:
+ * each call selects only ids strictly after the previous chunk, so the cost of a
+ * chunk does not grow with how far a sweep has progressed.
+ */
+@Component
+public class JpaStatusScanQuery implements StatusScanQuery {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderId> findOrderIdsByStatus(OrderStatus status, OrderId after, int limit) {
+        return scan("OrderJpaEntity", "", status, after != null ? after.value() : null, limit)
+                .getResultList().stream().map(OrderId::new).toList();
+    }
+
+    @Override
+    public List<OrderId> findOrderIdsByStatusPlacedBefore(OrderStatus status, LocalDateTime placedBefore,
+                                                          OrderId after, int limit) {
+        return scan("OrderJpaEntity", " AND e.placedAt < :placedBefore", status,
+                after != null ? after.value() : null, limit)
+                .setParameter("placedBefore", placedBefore)
+                .getResultList().stream().map(OrderId::new).toList();
+    }
+
+    @Override
+    public List<PaymentId> findPaymentIdsByStatus(PaymentStatus status, PaymentId after, int limit) {
+        return scan("PaymentJpaEntity", "", status, after != null ? after.value() : null, limit)
+                .getResultList().stream().map(PaymentId::new).toList();
+    }
+
+    private TypedQuery<Long> scan(String entity, String condition, Enum<?> status, Long after, int limit) {
+        return entityManager
+                .createQuery("SELECT e.id FROM " + entity + " e WHERE e.status = :status AND e.id > :after"
+                        + condition + " ORDER BY e.id", Long.class)
+                .setParameter("status", status)
+                .setParameter("after", after != null ? after : Long.MIN_VALUE)
+                .setMaxResults(limit);
+    }
+}
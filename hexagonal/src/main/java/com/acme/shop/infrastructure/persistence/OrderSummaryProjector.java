@@ -0,0 +1,112 @@
+package com.acme.shop.infrastructure.persistence;
+
+import com.acme.shop.domain.customer.Customer;
+import com.acme.shop.domain.customer.CustomerId;
+import com.acme.shop.domain.customer.CustomerRenamedEvent;
+import com.acme.shop.domain.order.Order;
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderPlacedEvent;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.domain.order.OrderStatusChangedEvent;
+import com.acme.shop.domain.order.OrderSummary;
+import com.acme.shop.infrastructure.events.DomainEventConsumer;
+import com.acme.shop.ports.out.CustomerRepository;
+import com.acme.shop.ports.out.OrderRepository;
+import com.acme.shop.ports.out.OrderSummaryProjection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps {@code order_summary} in step with committed order changes. The bus only
+ * delivers events after their transaction commits, so rolled-back changes never reach
+ * the read model. Events are collected per bus batch: placed orders are loaded and
+ * written together, then the furthest status per order and the last name per customer
+ * are applied. Commits on the same order may reach the bus out of order, so statuses
+ * are compared rather than taken in arrival order, here and in the guarded update.
+ */
+@Component
+public class OrderSummaryProjector implements DomainEventConsumer {
+
+    private final OrderRepository orderRepository;
+    private final CustomerRepository customerRepository;
+    private final OrderSummaryProjection orderSummaryProjection;
+    private final TransactionTemplate readTransaction;
+    private final Set<OrderId> placed = new LinkedHashSet<>();
+    private final Map<OrderId, OrderStatus> statuses = new LinkedHashMap<>();
+    private final Map<CustomerId, String> names = new LinkedHashMap<>();
+    private final AtomicLong projected = new AtomicLong();
+
+    public OrderSummaryProjector(
+            OrderRepository orderRepository,
+            CustomerRepository customerRepository,
+            OrderSummaryProjection orderSummaryProjection,
+            PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.customerRepository = customerRepository;
+        this.orderSummaryProjection = orderSummaryProjection;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void onEvent(Object event, boolean endOfBatch) {
+        if (event instanceof OrderPlacedEvent placedEvent) {
+            placed.add(placedEvent.orderId());
+        } else if (event instanceof OrderStatusChangedEvent changed) {
+            statuses.merge(changed.orderId(), changed.status(), OrderSummaryProjector::furthest);
+        } else if (event instanceof CustomerRenamedEvent renamed) {
+            names.put(renamed.customerId(), renamed.fullName());
+        }
+        if (endOfBatch) {
+            try {
+                flush();
+            } finally {
+                placed.clear();
+                statuses.clear();
+                names.clear();
+            }
+        }
+    }
+
+    public long getProjectedCount() { return projected.get(); }
+
+    private void flush() {
+        if (!placed.isEmpty()) {
+            List<OrderSummary> summaries = readTransaction.execute(status -> summarize(placed));
+            orderSummaryProjection.saveAll(summaries);
+            projected.addAndGet(summaries.size());
+        }
+        Map<OrderStatus, List<OrderId>> byStatus = new HashMap<>();
+        statuses.forEach((orderId, status) -> byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(orderId));
+        byStatus.forEach((status, orderIds) -> orderSummaryProjection.updateStatus(orderIds, status));
+        names.forEach(orderSummaryProjection::updateCustomerName);
+    }
+
+    private static OrderStatus furthest(OrderStatus a, OrderStatus b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private List<OrderSummary> summarize(Set<OrderId> orderIds) {
+        List<Order> orders = orderRepository.findAllById(orderIds);
+        Set<CustomerId> customerIds = new LinkedHashSet<>();
+        orders.forEach(order -> customerIds.add(order.getCustomerId()));
+        Map<CustomerId, String> customerNames = new HashMap<>();
+        for (Customer customer : customerRepository.findAllById(customerIds)) {
+            customerNames.put(customer.getId(), customer.getFullName());
+        }
+        List<OrderSummary> summaries = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            summaries.add(OrderSummary.of(order, customerNames.get(order.getCustomerId())));
+        }
+        return summaries;
+    }
+}
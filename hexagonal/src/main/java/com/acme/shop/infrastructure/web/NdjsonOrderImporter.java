@@ -0,0 +1,126 @@
+package com.acme.shop.infrastructure.web;
+
+import com.acme.shop.domain.customer.CustomerId;
+import com.acme.shop.domain.order.Address;
+import com.acme.shop.domain.product.ProductId;
+import com.acme.shop.ports.in.OrderUseCases;
+import com.acme.shop.ports.in.OrderUseCases.BulkOrderCommand;
+import com.acme.shop.ports.in.OrderUseCases.BulkOrderResult;
+import com.acme.shop.ports.in.OrderUseCases.LineItemCommand;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads one order per line (JSON) and feeds them to {@link OrderUseCases#createOrders}
+ * in fixed-size chunks, so each chunk is one transaction with shared lookups. Chunks are
+ * planned against advisory availability, so a reservation can still fail when another
+ * order takes the stock first; the chunk is then rolled back and its orders are retried
+ * one per transaction, which rejects only those that are actually short.
+ */
+@Component
+public class NdjsonOrderImporter {
+
+    private final OrderUseCases orderUseCases;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public NdjsonOrderImporter(
+            OrderUseCases orderUseCases,
+            ObjectMapper objectMapper,
+            @Value("${shop.import.chunk-size:500}") int chunkSize) {
+        this.orderUseCases = orderUseCases;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    public void importFile(Path file, Consumer<BulkOrderResult> results) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            importOrders(in, results);
+        }
+    }
+
+    public void importOrders(InputStream in, Consumer<BulkOrderResult> results) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<BulkOrderCommand> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                chunk.add(toCommand(objectMapper.readValue(line, ImportedOrder.class), lineNumber));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                results.accept(BulkOrderResult.rejected("line " + lineNumber, "Unreadable order: " + e.getMessage()));
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                flush(chunk, results);
+            }
+        }
+        flush(chunk, results);
+    }
+
+    private void flush(List<BulkOrderCommand> chunk, Consumer<BulkOrderResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            orderUseCases.createOrders(chunk).forEach(results);
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                results.accept(BulkOrderResult.rejected(chunk.get(0).reference(), e.getMessage()));
+            } else {
+                chunk.forEach(command -> createOne(command, results));
+            }
+        }
+        chunk.clear();
+    }
+
+    private void createOne(BulkOrderCommand command, Consumer<BulkOrderResult> results) {
+        try {
+            orderUseCases.createOrders(List.of(command)).forEach(results);
+        } catch (RuntimeException e) {
+            results.accept(BulkOrderResult.rejected(command.reference(), e.getMessage()));
+        }
+    }
+
+    private static BulkOrderCommand toCommand(ImportedOrder order, int lineNumber) {
+        if (order == null || order.items() == null) {
+            throw new IllegalArgumentException("order with an items array expected");
+        }
+        List<LineItemCommand> items = new ArrayList<>(order.items().size());
+        for (ImportedItem item : order.items()) {
+            if (item == null) {
+                throw new IllegalArgumentException("null item");
+            }
+            items.add(new LineItemCommand(new ProductId(item.productId()), item.quantity()));
+        }
+        ImportedAddress address = order.shippingAddress();
+        return new BulkOrderCommand(
+                order.reference() != null ? order.reference() : "line " + lineNumber,
+                new CustomerId(order.customerId()),
+                items,
+                address == null ? null
+                        : new Address(address.street(), address.city(), address.zipCode(), address.country()));
+    }
+
+    record ImportedOrder(String reference, Long customerId, ImportedAddress shippingAddress, List<ImportedItem> items) {}
+
+    record ImportedItem(Long productId, int quantity) {}
+
+    record ImportedAddress(String street, String city, String zipCode, String country) {}
+}
@@ -0,0 +1,109 @@
+package com.acme.shop.infrastructure.web;
+
+import com.acme.shop.domain.customer.CustomerId;
+import com.acme.shop.domain.order.OrderCursor;
+import com.acme.shop.domain.order.OrderHistoryEntry;
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.ports.in.OrderUseCases;
+import com.acme.shop.ports.in.OrderUseCases.OrderHistoryPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/customers/{customerId}/order-history")
+public class OrderHistoryController {
+
+    private final OrderUseCases orderUseCases;
+    private final ObjectMapper objectMapper;
+
+    public OrderHistoryController(OrderUseCases orderUseCases, ObjectMapper objectMapper) {
+        this.orderUseCases = orderUseCases;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public OrderHistoryResponse getPage(
+            @PathVariable("customerId") Long customerId,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        OrderHistoryPage page = orderUseCases.getOrderHistory(new CustomerId(customerId), decode(after), limit);
+        return new OrderHistoryResponse(
+                page.entries().stream().map(OrderHistoryController::toResponse).toList(),
+                encode(page.nextCursor()));
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public void stream(@PathVariable("customerId") Long customerId, OutputStream responseBody) throws IOException {
+        orderUseCases.streamOrderHistory(new CustomerId(customerId), entry -> write(toResponse(entry), responseBody));
+        responseBody.flush();
+    }
+
+    private void write(OrderSummaryResponse summary, OutputStream out) {
+        try {
+            out.write(objectMapper.writeValueAsString(summary).getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize order summary", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static OrderSummaryResponse toResponse(OrderHistoryEntry entry) {
+        return new OrderSummaryResponse(
+                entry.orderId().value(),
+                entry.orderNumber(),
+                entry.status().name(),
+                entry.totalAmount().amount(),
+                entry.totalAmount().currency(),
+                entry.lineCount(),
+                entry.placedAt());
+    }
+
+    private static String encode(OrderCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String raw = cursor.placedAt() + "|" + cursor.orderId().value();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static OrderCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new OrderCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    new OrderId(Long.parseLong(raw.substring(separator + 1))));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    record OrderHistoryResponse(List<OrderSummaryResponse> orders, String nextCursor) {}
+
+    record OrderSummaryResponse(
+            Long id,
+            String orderNumber,
+            String status,
+            BigDecimal totalAmount,
+            String currency,
+            int lineCount,
+            LocalDateTime placedAt) {}
+}
@@ -0,0 +1,52 @@
+package com.acme.shop.infrastructure.web;
+
+import com.acme.shop.ports.in.OrderUseCases.BulkOrderResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/orders/import")
+public class OrderImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final NdjsonOrderImporter importer;
+    private final ObjectMapper objectMapper;
+
+    public OrderImportController(NdjsonOrderImporter importer, ObjectMapper objectMapper) {
+        this.importer = importer;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(consumes = NDJSON, produces = NDJSON)
+    public void importOrders(InputStream requestBody, OutputStream responseBody) throws IOException {
+        importer.importOrders(requestBody, result -> write(result, responseBody));
+        responseBody.flush();
+    }
+
+    private void write(BulkOrderResult result, OutputStream out) {
+        ImportResultLine line = new ImportResultLine(
+                result.reference(),
+                result.orderId() != null ? result.orderId().value() : null,
+                result.orderNumber(),
+                result.error());
+        try {
+            out.write(objectMapper.writeValueAsString(line).getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize import result", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    record ImportResultLine(String reference, Long orderId, String orderNumber, String error) {}
+}
@@ -0,0 +1,65 @@
+package com.acme.shop.infrastructure.web;
+
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderSummary;
+import com.acme.shop.ports.in.OrderUseCases;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/order-summaries")
+public class OrderSummaryController {
+
+    private final OrderUseCases orderUseCases;
+
+    public OrderSummaryController(OrderUseCases orderUseCases) {
+        this.orderUseCases = orderUseCases;
+    }
+
+    @GetMapping("/{orderId}")
+    public OrderSummaryResponse getSummary(@PathVariable("orderId") Long orderId) {
+        return toResponse(orderUseCases.getOrderSummary(new OrderId(orderId)));
+    }
+
+    @GetMapping("/by-number/{orderNumber}")
+    public OrderSummaryResponse getSummaryByNumber(@PathVariable("orderNumber") String orderNumber) {
+        return toResponse(orderUseCases.getOrderSummaryByNumber(orderNumber));
+    }
+
+    @GetMapping("/{orderId}/status")
+    public OrderStatusResponse getStatus(@PathVariable("orderId") Long orderId) {
+        return new OrderStatusResponse(orderId, orderUseCases.getOrderStatus(new OrderId(orderId)).name());
+    }
+
+    private static OrderSummaryResponse toResponse(OrderSummary summary) {
+        return new OrderSummaryResponse(
+                summary.orderId().value(),
+                summary.orderNumber(),
+                summary.customerId().value(),
+                summary.customerName(),
+                summary.status().name(),
+                summary.totalAmount().amount(),
+                summary.totalAmount().currency(),
+                summary.lineCount(),
+                summary.placedAt(),
+                summary.updatedAt());
+    }
+
+    record OrderSummaryResponse(
+            Long id,
+            String orderNumber,
+            Long customerId,
+            String customerName,
+            String status,
+            BigDecimal totalAmount,
+            String currency,
+            int lineCount,
+            LocalDateTime placedAt,
+            LocalDateTime updatedAt) {}
+
+    record OrderStatusResponse(Long id, String status) {}
+}
@@ -0,0 +1,59 @@
+package com.acme.shop.infrastructure.web;
+
+import com.acme.shop.infrastructure.web.StockFeedImporter.Format;
+import com.acme.shop.ports.in.InventoryUseCases.StockUpdateResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/inventory/stock-updates")
+public class StockFeedController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final StockFeedImporter importer;
+    private final ObjectMapper objectMapper;
+
+    public StockFeedController(StockFeedImporter importer, ObjectMapper objectMapper) {
+        this.importer = importer;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(consumes = NDJSON, produces = NDJSON)
+    public void importJsonLines(InputStream requestBody, OutputStream responseBody) throws IOException {
+        importer.importFeed(requestBody, Format.JSONL, result -> write(result, responseBody));
+        responseBody.flush();
+    }
+
+    @PostMapping(consumes = CSV, produces = NDJSON)
+    public void importCsv(InputStream requestBody, OutputStream responseBody) throws IOException {
+        importer.importFeed(requestBody, Format.CSV, result -> write(result, responseBody));
+        responseBody.flush();
+    }
+
+    private void write(StockUpdateResult result, OutputStream out) {
+        UpdateResultLine line = new UpdateResultLine(
+                result.reference(),
+                result.productId() != null ? result.productId().value() : null,
+                result.error());
+        try {
+            out.write(objectMapper.writeValueAsString(line).getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize stock update result", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    record UpdateResultLine(String reference, Long productId, String error) {}
+}
@@ -0,0 +1,175 @@
+package com.acme.shop.infrastructure.web;
+
+import com.acme.shop.domain.inventory.StockMovement.MovementType;
+import com.acme.shop.domain.product.ProductId;
+import com.acme.shop.ports.in.InventoryUseCases;
+import com.acme.shop.ports.in.InventoryUseCases.StockUpdateCommand;
+import com.acme.shop.ports.in.InventoryUseCases.StockUpdateResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams a warehouse receipt/adjustment feed, either CSV with a
+ * {@code reference,productId,type,quantity,reason} header or one JSON object per line,
+ * and hands it to {@link InventoryUseCases#applyStockUpdates} in fixed-size chunks.
+ * Each chunk is one transaction that touches every product row once and writes its
+ * stock movements as one batched insert. Lines with a reference are applied at most
+ * once; re-importing a feed reports them as already applied.
+ */
+@Component
+public class StockFeedImporter {
+
+    public enum Format {
+        CSV,
+        JSONL
+    }
+
+    private final InventoryUseCases inventoryUseCases;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public StockFeedImporter(
+            InventoryUseCases inventoryUseCases,
+            ObjectMapper objectMapper,
+            @Value("${shop.inventory.feed.chunk-size:1000}") int chunkSize) {
+        this.inventoryUseCases = inventoryUseCases;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    public void importFile(Path file, Consumer<StockUpdateResult> results) throws IOException {
+        Format format = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")
+                ? Format.CSV : Format.JSONL;
+        try (InputStream in = Files.newInputStream(file)) {
+            importFeed(in, format, results);
+        }
+    }
+
+    public void importFeed(InputStream in, Format format, Consumer<StockUpdateResult> results) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<FeedEntry> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && isHeader(line))) {
+                continue;
+            }
+            try {
+                chunk.add(new FeedEntry(format == Format.CSV ? fromCsv(line)
+                        : fromJson(objectMapper.readValue(line, FeedLine.class)), lineNumber));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                results.accept(StockUpdateResult.rejected("line " + lineNumber, null,
+                        "Unreadable stock update: " + e.getMessage()));
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                flush(chunk, results);
+            }
+        }
+        flush(chunk, results);
+    }
+
+    private void flush(List<FeedEntry> chunk, Consumer<StockUpdateResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<StockUpdateResult> applied =
+                    inventoryUseCases.applyStockUpdates(chunk.stream().map(FeedEntry::command).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                StockUpdateResult result = applied.get(i);
+                results.accept(new StockUpdateResult(chunk.get(i).label(), result.productId(), result.error()));
+            }
+        } catch (RuntimeException e) {
+            for (FeedEntry entry : chunk) {
+                results.accept(StockUpdateResult.rejected(entry.label(), entry.command().productId(), e.getMessage()));
+            }
+        }
+        chunk.clear();
+    }
+
+    private static boolean isHeader(String line) {
+        return line.toLowerCase(Locale.ROOT).startsWith("reference,");
+    }
+
+    private static StockUpdateCommand fromJson(FeedLine line) {
+        if (line == null) {
+            throw new IllegalArgumentException("stock update object expected");
+        }
+        if (line.productId() == null || line.type() == null || line.quantity() == null) {
+            throw new IllegalArgumentException("productId, type and quantity are required");
+        }
+        return new StockUpdateCommand(
+                line.reference() == null || line.reference().isBlank() ? null : line.reference(),
+                new ProductId(line.productId()),
+                MovementType.valueOf(line.type().toUpperCase(Locale.ROOT)),
+                line.quantity(),
+                line.reason());
+    }
+
+    private static StockUpdateCommand fromCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 4) {
+            throw new IllegalArgumentException("expected reference,productId,type,quantity[,reason] but got "
+                    + fields.size() + " fields");
+        }
+        return new StockUpdateCommand(
+                fields.get(0).isBlank() ? null : fields.get(0),
+                new ProductId(Long.parseLong(fields.get(1).trim())),
+                MovementType.valueOf(fields.get(2).trim().toUpperCase(Locale.ROOT)),
+                Integer.parseInt(fields.get(3).trim()),
+                fields.size() > 4 ? fields.get(4) : null);
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    record FeedLine(String reference, Long productId, String type, Integer quantity, String reason) {}
+
+    /** A parsed line; lines without a reference are reported by line number. */
+    private record FeedEntry(StockUpdateCommand command, int lineNumber) {
+
+        String label() {
+            return command.reference() != null ? command.reference() : "line " + lineNumber;
+        }
+    }
+}
@@ -1,12 +1,52 @@
 package com.acme.shop.ports.in;
 
 import com.acme.shop.domain.inventory.Inventory;
+import com.acme.shop.domain.inventory.LowStockAlert;
+import com.acme.shop.domain.inventory.SalesVelocity;
+import com.acme.shop.domain.inventory.StockHold;
+import com.acme.shop.domain.inventory.StockHoldId;
+import com.acme.shop.domain.inventory.StockMovement.MovementType;
+import com.acme.shop.domain.inventory.StockSnapshot;
 import com.acme.shop.domain.product.ProductId;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 public interface InventoryUseCases {
     Inventory initializeStock(ProductId productId, int initialQuantity);
     void reserveStock(ProductId productId, int quantity);
+    void reserveStock(Map<ProductId, Integer> quantities);
     void releaseStock(ProductId productId, int quantity);
+    void releaseStock(Map<ProductId, Integer> quantities);
+    StockHold holdStock(Map<ProductId, Integer> quantities, Duration ttl);
+    void confirmHold(StockHoldId holdId);
+    void releaseHold(StockHoldId holdId);
+    int releaseExpiredHolds(Collection<StockHoldId> holdIds);
     void shipStock(ProductId productId, int quantity);
+    void shipStock(Map<ProductId, Integer> quantities);
+    List<StockUpdateResult> applyStockUpdates(List<StockUpdateCommand> commands);
+    void shardStock(ProductId productId, int bucketCount);
+    void unshardStock(ProductId productId);
     int getAvailableQuantity(ProductId productId);
+    Map<ProductId, Integer> getAvailableQuantities(Collection<ProductId> productIds);
+    List<LowStockAlert> getLowStockItems();
+    boolean isLowOnStock(ProductId productId);
+    SalesVelocity getSalesVelocity(ProductId productId);
+    Map<ProductId, SalesVelocity> getSalesVelocities(Collection<ProductId> productIds);
+    StockSnapshot getLedgerBalance(ProductId productId);
+
+    record StockUpdateCommand(String reference, ProductId productId, MovementType type, int quantity,
+                              String reason) {}
+
+    record StockUpdateResult(String reference, ProductId productId, String error) {
+
+        public static StockUpdateResult applied(String reference, ProductId productId) {
+            return new StockUpdateResult(reference, productId, null);
+        }
+
+        public static StockUpdateResult rejected(String reference, ProductId productId, String error) {
+            return new StockUpdateResult(reference, productId, error);
+        }
+    }
 }
@@ -3,17 +3,48 @@ package com.acme.shop.ports.in;
 import com.acme.shop.domain.customer.CustomerId;
 import com.acme.shop.domain.order.Address;
 import com.acme.shop.domain.order.Order;
+import com.acme.shop.domain.order.OrderCursor;
+import com.acme.shop.domain.order.OrderHistoryEntry;
 import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.domain.order.OrderSummary;
 import com.acme.shop.domain.product.ProductId;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderUseCases {
     Order createOrder(CustomerId customerId, List<LineItemCommand> items, Address shippingAddress);
+    Order createOrder(String idempotencyKey, CustomerId customerId, List<LineItemCommand> items, Address shippingAddress);
+    List<BulkOrderResult> createOrders(List<BulkOrderCommand> commands);
     Order placeOrder(OrderId orderId);
     Order cancelOrder(OrderId orderId, String reason);
+    int cancelUnpaidOrders(Collection<OrderId> orderIds, LocalDateTime placedBefore);
     Order getOrder(OrderId orderId);
     Order getOrderByNumber(String orderNumber);
+    OrderSummary getOrderSummary(OrderId orderId);
+    OrderSummary getOrderSummaryByNumber(String orderNumber);
+    OrderStatus getOrderStatus(OrderId orderId);
     List<Order> getOrdersByCustomer(CustomerId customerId);
+    OrderHistoryPage getOrderHistory(CustomerId customerId, OrderCursor after, int limit);
+    void streamOrderHistory(CustomerId customerId, Consumer<OrderHistoryEntry> consumer);
 
     record LineItemCommand(ProductId productId, int quantity) {}
+
+    record OrderHistoryPage(List<OrderHistoryEntry> entries, OrderCursor nextCursor) {}
+
+    record BulkOrderCommand(String reference, CustomerId customerId, List<LineItemCommand> items,
+                            Address shippingAddress) {}
+
+    record BulkOrderResult(String reference, OrderId orderId, String orderNumber, String error) {
+
+        public static BulkOrderResult created(String reference, OrderId orderId, String orderNumber) {
+            return new BulkOrderResult(reference, orderId, orderNumber, null);
+        }
+
+        public static BulkOrderResult rejected(String reference, String error) {
+            return new BulkOrderResult(reference, null, null, error);
+        }
+    }
 }
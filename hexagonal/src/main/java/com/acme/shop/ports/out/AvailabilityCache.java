@@ -0,0 +1,12 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.product.ProductId;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+public interface AvailabilityCache {
+    Map<ProductId, Integer> getAll(Collection<ProductId> productIds,
+                                   Function<Collection<ProductId>, Map<ProductId, Integer>> loader);
+    void invalidate(Collection<ProductId> productIds);
+}
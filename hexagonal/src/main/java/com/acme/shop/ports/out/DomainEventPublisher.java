@@ -0,0 +1,5 @@
+package com.acme.shop.ports.out;
+
+public interface DomainEventPublisher {
+    void publish(Object event);
+}
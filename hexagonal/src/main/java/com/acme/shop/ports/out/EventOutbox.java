@@ -0,0 +1,7 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.order.OrderPlacedEvent;
+
+public interface EventOutbox {
+    void append(OrderPlacedEvent event);
+}
@@ -0,0 +1,9 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.inventory.StockHoldId;
+import java.time.Instant;
+
+public interface HoldExpiryScheduler {
+    void schedule(StockHoldId holdId, Instant expiresAt);
+    void cancel(StockHoldId holdId);
+}
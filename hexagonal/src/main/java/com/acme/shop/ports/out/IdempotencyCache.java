@@ -0,0 +1,11 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.order.OrderId;
+import java.util.Optional;
+
+public interface IdempotencyCache {
+    Optional<OrderId> lookup(String idempotencyKey);
+    boolean claim(String idempotencyKey);
+    void complete(String idempotencyKey, OrderId orderId);
+    void release(String idempotencyKey);
+}
@@ -0,0 +1,8 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.product.ProductId;
+import java.util.Collection;
+
+public interface InventoryLocks {
+    void lockForUpdate(Collection<ProductId> productIds);
+}
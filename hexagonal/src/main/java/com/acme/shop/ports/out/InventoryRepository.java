@@ -3,10 +3,14 @@ package com.acme.shop.ports.out;
 import com.acme.shop.domain.inventory.Inventory;
 import com.acme.shop.domain.inventory.InventoryId;
 import com.acme.shop.domain.product.ProductId;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface InventoryRepository {
     Inventory save(Inventory inventory);
+    List<Inventory> saveAll(List<Inventory> inventories);
     Optional<Inventory> findById(InventoryId id);
     Optional<Inventory> findByProductId(ProductId productId);
+    List<Inventory> findByProductIdIn(Collection<ProductId> productIds);
 }
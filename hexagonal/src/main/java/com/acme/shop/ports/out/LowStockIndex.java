@@ -0,0 +1,10 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.inventory.LowStockAlert;
+import com.acme.shop.domain.product.ProductId;
+import java.util.List;
+
+public interface LowStockIndex {
+    boolean contains(ProductId productId);
+    List<LowStockAlert> findAll();
+}
@@ -0,0 +1,8 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.inventory.LowStockAlert;
+import java.util.List;
+
+public interface LowStockNotifier {
+    void notifyLowStock(List<LowStockAlert> alerts);
+}
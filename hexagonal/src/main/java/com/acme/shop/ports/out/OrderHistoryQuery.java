@@ -0,0 +1,12 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.customer.CustomerId;
+import com.acme.shop.domain.order.OrderCursor;
+import com.acme.shop.domain.order.OrderHistoryEntry;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface OrderHistoryQuery {
+    List<OrderHistoryEntry> findByCustomer(CustomerId customerId, OrderCursor after, int limit);
+    void forEachByCustomer(CustomerId customerId, Consumer<OrderHistoryEntry> consumer);
+}
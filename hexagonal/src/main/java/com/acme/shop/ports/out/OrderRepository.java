@@ -4,13 +4,17 @@ import com.acme.shop.domain.customer.CustomerId;
 import com.acme.shop.domain.order.Order;
 import com.acme.shop.domain.order.OrderId;
 import com.acme.shop.domain.order.OrderStatus;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository {
     Order save(Order order);
+    List<Order> saveAll(List<Order> orders);
     Optional<Order> findById(OrderId id);
+    List<Order> findAllById(Collection<OrderId> ids);
     Optional<Order> findByOrderNumber(String orderNumber);
+    Optional<Order> findByIdempotencyKey(String idempotencyKey);
     List<Order> findByCustomerId(CustomerId customerId);
     List<Order> findByStatus(OrderStatus status);
 }
@@ -0,0 +1,17 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.customer.CustomerId;
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.domain.order.OrderSummary;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderSummaryProjection {
+    void save(OrderSummary summary);
+    void saveAll(List<OrderSummary> summaries);
+    void saveIfAbsent(OrderSummary summary);
+    void updateStatus(OrderId orderId, OrderStatus status);
+    void updateStatus(Collection<OrderId> orderIds, OrderStatus status);
+    void updateCustomerName(CustomerId customerId, String customerName);
+}
@@ -0,0 +1,12 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.domain.order.OrderSummary;
+import java.util.Optional;
+
+public interface OrderSummaryQuery {
+    Optional<OrderSummary> findById(OrderId orderId);
+    Optional<OrderSummary> findByOrderNumber(String orderNumber);
+    Optional<OrderStatus> findStatusById(OrderId orderId);
+}
@@ -4,12 +4,14 @@ import com.acme.shop.domain.order.OrderId;
 import com.acme.shop.domain.payment.Payment;
 import com.acme.shop.domain.payment.PaymentId;
 import com.acme.shop.domain.payment.PaymentStatus;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository {
     Payment save(Payment payment);
     Optional<Payment> findById(PaymentId id);
+    List<Payment> findAllById(Collection<PaymentId> ids);
     Optional<Payment> findByPaymentReference(String paymentReference);
     List<Payment> findByOrderId(OrderId orderId);
     List<Payment> findByStatus(PaymentStatus status);
@@ -3,12 +3,14 @@ package com.acme.shop.ports.out;
 import com.acme.shop.domain.product.Category;
 import com.acme.shop.domain.product.Product;
 import com.acme.shop.domain.product.ProductId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProductRepository {
     Product save(Product product);
     Optional<Product> findById(ProductId id);
+    List<Product> findAllById(Collection<ProductId> ids);
     Optional<Product> findBySku(String sku);
     List<Product> findByCategory(Category category);
     List<Product> findByActiveTrue();
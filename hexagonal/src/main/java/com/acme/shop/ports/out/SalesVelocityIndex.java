@@ -0,0 +1,8 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.inventory.SalesVelocity;
+import com.acme.shop.domain.product.ProductId;
+
+public interface SalesVelocityIndex {
+    SalesVelocity find(ProductId productId);
+}
@@ -0,0 +1,15 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.product.ProductId;
+import java.util.Collection;
+import java.util.Map;
+
+public interface ShardedStock {
+    Map<ProductId, Integer> findAvailable(Collection<ProductId> productIds);
+    boolean tryReserve(ProductId productId, int quantity);
+    void release(ProductId productId, int quantity);
+    void create(ProductId productId, int bucketCount, int quantity);
+    DrainedStock drain(ProductId productId);
+
+    record DrainedStock(int available, int movements) {}
+}
@@ -0,0 +1,15 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.order.OrderId;
+import com.acme.shop.domain.order.OrderStatus;
+import com.acme.shop.domain.payment.PaymentId;
+import com.acme.shop.domain.payment.PaymentStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StatusScanQuery {
+    List<OrderId> findOrderIdsByStatus(OrderStatus status, OrderId after, int limit);
+    List<OrderId> findOrderIdsByStatusPlacedBefore(OrderStatus status, LocalDateTime placedBefore, OrderId after,
+                                                   int limit);
+    List<PaymentId> findPaymentIdsByStatus(PaymentStatus status, PaymentId after, int limit);
+}
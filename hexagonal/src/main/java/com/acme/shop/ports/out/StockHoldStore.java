@@ -0,0 +1,18 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.inventory.StockHold;
+import com.acme.shop.domain.inventory.StockHoldId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface StockHoldStore {
+    void save(StockHold hold);
+    Optional<StockHold> findById(StockHoldId id);
+    List<StockHold> findAllById(Collection<StockHoldId> ids);
+    boolean deleteById(StockHoldId id);
+    Set<StockHoldId> deleteAllById(Collection<StockHoldId> ids);
+    void forEach(Consumer<StockHold> consumer);
+}
@@ -0,0 +1,22 @@
+package com.acme.shop.ports.out;
+
+import com.acme.shop.domain.inventory.StockMovement;
+import com.acme.shop.domain.inventory.StockMovement.MovementType;
+import com.acme.shop.domain.inventory.StockSnapshot;
+import com.acme.shop.domain.product.ProductId;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface StockLedger {
+    void append(List<StockMovement> movements);
+    void appendSnapshot(StockSnapshot snapshot);
+    Optional<StockSnapshot> findLatestSnapshot(ProductId productId);
+    List<StockMovement> findByProductIdSince(ProductId productId, LocalDateTime since, int limit);
+    void streamSince(LocalDateTime since, Collection<MovementType> types, Consumer<StockMovement> consumer);
+    Set<String> findAppliedReferences(Collection<String> references);
+    void appendReferences(Collection<String> references);
+}
@@ -13,16 +13,22 @@ INSERT INTO product (id, name, description, sku, category, active, amount, curre
 VALUES (5, 'Organic Coffee Beans', '1kg premium arabica beans from Colombia', 'FOOD-CB-001', 'FOOD', true, 24.50, 'EUR');
 
 -- Inventory
-INSERT INTO inventory (id, product_id, quantity_on_hand, reserved_quantity, reorder_threshold)
-VALUES (1, 1, 50, 0, 10);
-INSERT INTO inventory (id, product_id, quantity_on_hand, reserved_quantity, reorder_threshold)
-VALUES (2, 2, 120, 0, 20);
-INSERT INTO inventory (id, product_id, quantity_on_hand, reserved_quantity, reorder_threshold)
-VALUES (3, 3, 200, 0, 30);
-INSERT INTO inventory (id, product_id, quantity_on_hand, reserved_quantity, reorder_threshold)
-VALUES (4, 4, 75, 0, 15);
-INSERT INTO inventory (id, product_id, quantity_on_hand, reserved_quantity, reorder_threshold)
-VALUES (5, 5, 300, 0, 50);
+INSERT INTO inventory (id, product_id, quantity_on_hand, reserved_quantity, reorder_threshold, movements_since_snapshot, version)
+VALUES (1, 1, 50, 0, 10, 0, 0);
+INSERT INTO inventory (id, product_id, quantity_on_hand, reserved_quantity, reorder_threshold, movements_since_snapshot, version)
+VALUES (2, 2, 120, 0, 20, 0, 0);
+INSERT INTO inventory (id, product_id, quantity_on_hand, reserved_quantity, reorder_threshold, movements_since_snapshot, version)
+VALUES (3, 3, 200, 0, 30, 0, 0);
+INSERT INTO inventory (id, product_id, quantity_on_hand, reserved_quantity, reorder_threshold, movements_since_snapshot, version)
+VALUES (4, 4, 75, 0, 15, 0, 0);
+INSERT INTO inventory (id, product_id, quantity_on_hand, reserved_quantity, reorder_threshold, movements_since_snapshot, version)
+VALUES (5, 5, 300, 0, 50, 0, 0);
+
+-- Opening stock snapshots, so the ledger balance starts from the seeded counters
+INSERT INTO stock_snapshot (product_id, quantity_on_hand, reserved_quantity, taken_at)
+VALUES (1, 50, 0, TIMESTAMP '2024-01-01 00:00:00'), (2, 120, 0, TIMESTAMP '2024-01-01 00:00:00'),
+       (3, 200, 0, TIMESTAMP '2024-01-01 00:00:00'), (4, 75, 0, TIMESTAMP '2024-01-01 00:00:00'),
+       (5, 300, 0, TIMESTAMP '2024-01-01 00:00:00');
 
 -- Customers
 INSERT INTO customer (id, first_name, last_name, email, phone, street, city, zip_code, country)
@@ -0,0 +1,86 @@
+-- Tables owned by hand-written infrastructure (not generated from the domain model)
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(128) NOT NULL,
+    payload CLOB NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    published_at TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_outbox_event_pending ON outbox_event (published_at, id);
+
+CREATE TABLE IF NOT EXISTS order_summary (
+    order_id BIGINT PRIMARY KEY,
+    order_number VARCHAR(64) NOT NULL,
+    customer_id BIGINT NOT NULL,
+    customer_name VARCHAR(255),
+    status VARCHAR(32) NOT NULL,
+    total_amount DECIMAL(19, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    line_count INT NOT NULL,
+    placed_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_order_summary_number ON order_summary (order_number);
+CREATE INDEX IF NOT EXISTS idx_order_summary_customer ON order_summary (customer_id);
+
+CREATE TABLE IF NOT EXISTS inventory_bucket (
+    product_id BIGINT NOT NULL,
+    bucket INT NOT NULL,
+    available INT NOT NULL,
+    movements INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (product_id, bucket)
+);
+
+CREATE TABLE IF NOT EXISTS stock_ledger (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    quantity INT NOT NULL,
+    reason VARCHAR(255),
+    occurred_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_stock_ledger_product ON stock_ledger (product_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_stock_ledger_occurred ON stock_ledger (occurred_at);
+
+CREATE TABLE IF NOT EXISTS stock_update_reference (
+    reference VARCHAR(128) PRIMARY KEY,
+    applied_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS stock_snapshot (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    quantity_on_hand INT NOT NULL,
+    reserved_quantity INT NOT NULL,
+    taken_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_stock_snapshot_product ON stock_snapshot (product_id, id);
+
+CREATE TABLE IF NOT EXISTS inventory_journal_commit (
+    change_id VARCHAR(64) PRIMARY KEY
+);
+
+CREATE TABLE IF NOT EXISTS inventory_journal_checkpoint (
+    id INT PRIMARY KEY,
+    flushed_through BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS stock_hold (
+    hold_id VARCHAR(64) NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (hold_id, product_id)
+);
+
+-- Indexes on tables generated from the domain model (OrderJpaEntity maps to orders,
+-- PaymentJpaEntity to payment)
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_orders_idempotency_key ON orders (idempotency_key);
+CREATE INDEX IF NOT EXISTS idx_orders_customer_placed ON orders (customer_id, placed_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status ON orders (status, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_placed ON orders (status, placed_at, id);
+CREATE INDEX IF NOT EXISTS idx_payment_status ON payment (status, id);
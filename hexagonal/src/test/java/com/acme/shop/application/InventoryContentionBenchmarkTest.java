@@ -0,0 +1,114 @@
+package com.acme.shop.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acme.shop.domain.inventory.StockMovement.MovementType;
+import com.acme.shop.domain.product.ProductId;
+import com.acme.shop.ports.in.InventoryUseCases;
+import com.acme.shop.ports.in.InventoryUseCases.StockUpdateCommand;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Drains the stock of one SKU from a growing number of threads, one unit per
+ * reservation, and reports reservation throughput and how many units were sold
+ * beyond the stock. Conflicts that outlast the optimistic retries are counted, not
+ * failed; any other exception in a worker, such as a lock timeout, fails the run.
+ * Units per round are set with {@code -Dbenchmark.iterations}. Benchmarks only run
+ * with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class InventoryContentionBenchmarkTest {
+
+    private static final int STOCK = Integer.getInteger("benchmark.iterations", 500);
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16};
+    private static final ProductId PRODUCT = new ProductId(5L);
+
+    @Autowired
+    private InventoryUseCases inventoryUseCases;
+
+    @Test
+    void neverOversellsUnderContention(TestReporter reporter) throws InterruptedException {
+        for (int threads : THREAD_COUNTS) {
+            restock();
+            AtomicInteger reserved = new AtomicInteger();
+            AtomicInteger conflicts = new AtomicInteger();
+            Queue<RuntimeException> failures = new ConcurrentLinkedQueue<>();
+            long nanos = drain(threads, reserved, conflicts, failures);
+            int oversold = reserved.get() - STOCK;
+
+            reporter.publishEntry(threads + " threads", String.format(
+                    "%,.0f reservations/s, %d oversold, %d unresolved conflicts",
+                    reserved.get() * 1e9 / nanos, oversold, conflicts.get()));
+            if (!failures.isEmpty()) {
+                AssertionError error = new AssertionError(failures.size() + " workers failed at " + threads
+                        + " threads", failures.peek());
+                failures.stream().skip(1).forEach(error::addSuppressed);
+                throw error;
+            }
+            assertTrue(oversold <= 0, oversold + " units oversold at " + threads + " threads");
+            assertEquals(0, inventoryUseCases.getAvailableQuantity(PRODUCT), "stock left at " + threads + " threads");
+            inventoryUseCases.releaseStock(PRODUCT, reserved.get());
+        }
+    }
+
+    private void restock() {
+        int missing = STOCK - inventoryUseCases.getAvailableQuantity(PRODUCT);
+        if (missing > 0) {
+            inventoryUseCases.applyStockUpdates(List.of(new StockUpdateCommand(
+                    "benchmark-" + System.nanoTime(), PRODUCT, MovementType.RECEIVED, missing, "Benchmark restock")));
+        } else if (missing < 0) {
+            inventoryUseCases.reserveStock(PRODUCT, -missing);
+        }
+    }
+
+    private long drain(int threads, AtomicInteger reserved, AtomicInteger conflicts,
+                       Queue<RuntimeException> failures) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                while (true) {
+                    try {
+                        inventoryUseCases.reserveStock(PRODUCT, 1);
+                        reserved.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        conflicts.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        // Out of stock: this worker is done
+                        return;
+                    } catch (RuntimeException e) {
+                        failures.add(e);
+                        return;
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - startedAt;
+    }
+}
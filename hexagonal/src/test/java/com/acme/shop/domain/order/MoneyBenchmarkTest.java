@@ -0,0 +1,111 @@
+package com.acme.shop.domain.order;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+/**
+ * Sums order lines the way {@code Order.addLines} does and compares Money, which works on
+ * long minor units, against the previous BigDecimal-backed record kept below as
+ * {@link BigDecimalMoney}. Iterations are set with {@code -Dbenchmark.iterations}.
+ */
+@Tag("benchmark")
+class MoneyBenchmarkTest {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200_000);
+    private static final int LINES = 20;
+
+    @Test
+    void totalsOrderLines(TestReporter reporter) {
+        Money unitPrice = Money.of(new BigDecimal("19.99"), "EUR");
+        BigDecimalMoney baselinePrice = new BigDecimalMoney(new BigDecimal("19.99"), "EUR");
+
+        // Warm up both paths before measuring
+        sumMoney(unitPrice, ITERATIONS / 10);
+        sumBaseline(baselinePrice, ITERATIONS / 10);
+
+        long start = System.nanoTime();
+        Money money = sumMoney(unitPrice, ITERATIONS);
+        long moneyNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        BigDecimalMoney baseline = sumBaseline(baselinePrice, ITERATIONS);
+        long baselineNanos = System.nanoTime() - start;
+
+        reporter.publishEntry("minorUnits", describe(moneyNanos));
+        reporter.publishEntry("bigDecimal", describe(baselineNanos));
+        assertEquals(baseline.amount(), money.amount());
+    }
+
+    @Test
+    void roundsInputAndRejectsOverflow() {
+        Money total = Money.of(new BigDecimal("0.105"), "EUR").add(Money.of(BigDecimal.ONE, "EUR")).multiply(3);
+
+        assertEquals(new BigDecimal("3.33"), total.amount());
+        assertEquals(Money.of(new BigDecimal("3.330"), "EUR"), total);
+        Money huge = Money.of(new BigDecimal("50000000000000000.00"), "EUR");
+        assertThrows(ArithmeticException.class, () -> huge.add(huge));
+        assertThrows(ArithmeticException.class, () -> huge.multiply(2));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1E+20"), "EUR"));
+    }
+
+    private static String describe(long nanos) {
+        return String.format("%,d orders in %d ms (%,.0f orders/s)",
+                ITERATIONS, nanos / 1_000_000, ITERATIONS * 1e9 / nanos);
+    }
+
+    private static Money sumMoney(Money unitPrice, int orders) {
+        Money last = null;
+        for (int i = 0; i < orders; i++) {
+            Money total = Money.zero("EUR");
+            for (int line = 1; line <= LINES; line++) {
+                total = total.add(unitPrice.multiply(line));
+            }
+            last = total;
+        }
+        return last;
+    }
+
+    private static BigDecimalMoney sumBaseline(BigDecimalMoney unitPrice, int orders) {
+        BigDecimalMoney last = null;
+        for (int i = 0; i < orders; i++) {
+            BigDecimalMoney total = new BigDecimalMoney(BigDecimal.ZERO, "EUR");
+            for (int line = 1; line <= LINES; line++) {
+                total = total.add(unitPrice.multiply(line));
+            }
+            last = total;
+        }
+        return last;
+    }
+
+    /** Money as it was before it moved to minor units, kept as the benchmark baseline. */
+    private record BigDecimalMoney(BigDecimal amount, String currency) {
+
+        BigDecimalMoney {
+            if (amount == null) {
+                throw new IllegalArgumentException("Amount must not be null");
+            }
+            if (currency == null || currency.isBlank()) {
+                throw new IllegalArgumentException("Currency must not be null or blank");
+            }
+            amount = amount.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        BigDecimalMoney add(BigDecimalMoney other) {
+            if (!this.currency.equals(other.currency)) {
+                throw new IllegalArgumentException(
+                        "Cannot operate on different currencies: " + this.currency + " vs " + other.currency);
+            }
+            return new BigDecimalMoney(this.amount.add(other.amount), this.currency);
+        }
+
+        BigDecimalMoney multiply(int quantity) {
+            return new BigDecimalMoney(this.amount.multiply(BigDecimal.valueOf(quantity)), this.currency);
+        }
+    }
+}
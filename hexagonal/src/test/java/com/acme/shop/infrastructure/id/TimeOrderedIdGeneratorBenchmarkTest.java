@@ -0,0 +1,94 @@
+package com.acme.shop.infrastructure.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+/**
+ * Generates identifiers from a growing number of threads and compares throughput with
+ * the random UUID identifiers the generator replaced. Only generation is timed: each
+ * thread keeps its identifiers in its own array, and the run is then checked for repeated
+ * identifiers and for identifiers that do not increase within a thread.
+ * Identifiers per thread are set with {@code -Dbenchmark.iterations}.
+ */
+@Tag("benchmark")
+class TimeOrderedIdGeneratorBenchmarkTest {
+
+    private static final int IDS_PER_THREAD = Integer.getInteger("benchmark.iterations", 100_000);
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+    @Test
+    void generatesUniqueOrderedIdsUnderContention(TestReporter reporter) throws InterruptedException {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1);
+        Supplier<String> uuids = () -> "ORD-" + UUID.randomUUID().toString().substring(0, 13).toUpperCase();
+
+        for (int threads : THREAD_COUNTS) {
+            String[][] ids = new String[threads][IDS_PER_THREAD];
+            long nanos = run(() -> generator.nextId("ORD"), ids);
+            long uuidNanos = run(uuids, new String[threads][IDS_PER_THREAD]);
+
+            reporter.publishEntry(threads + " threads", String.format("time-ordered %,.0f ids/s, UUID %,.0f ids/s",
+                    threads * IDS_PER_THREAD * 1e9 / nanos, threads * IDS_PER_THREAD * 1e9 / uuidNanos));
+            Set<String> unique = new HashSet<>(threads * IDS_PER_THREAD * 2);
+            int outOfOrder = 0;
+            for (String[] perThread : ids) {
+                for (int i = 0; i < perThread.length; i++) {
+                    unique.add(perThread[i]);
+                    if (i > 0 && perThread[i].compareTo(perThread[i - 1]) <= 0) {
+                        outOfOrder++;
+                    }
+                }
+            }
+            assertEquals(threads * IDS_PER_THREAD, unique.size(), "duplicate identifiers at " + threads + " threads");
+            assertEquals(0, outOfOrder, "out-of-order identifiers at " + threads + " threads");
+        }
+    }
+
+    @Test
+    void idsSortInGenerationOrder() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0);
+        String previous = generator.nextId("ORD");
+        for (int i = 0; i < IDS_PER_THREAD; i++) {
+            String next = generator.nextId("ORD");
+            assertTrue(next.compareTo(previous) > 0, next + " does not sort after " + previous);
+            previous = next;
+        }
+    }
+
+    /** Fills one row of {@code ids} per thread and returns the nanoseconds that took. */
+    private static long run(Supplier<String> generator, String[][] ids) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>(ids.length);
+        for (String[] perThread : ids) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread.length; i++) {
+                    perThread[i] = generator.get();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - begin;
+    }
+}
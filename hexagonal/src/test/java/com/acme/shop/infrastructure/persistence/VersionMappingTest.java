@@ -0,0 +1,37 @@
+package com.acme.shop.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * The {@code version} fields of {@code Inventory} and {@code Order} only protect
+ * concurrent writes if the generated entities map them as JPA versions.
+ */
+@SpringBootTest
+class VersionMappingTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void inventoryEntityIsVersioned() {
+        assertTrue(entity("InventoryJpaEntity").hasVersionAttribute(), "inventory rows are not versioned");
+    }
+
+    @Test
+    void orderEntityIsVersioned() {
+        assertTrue(entity("OrderJpaEntity").hasVersionAttribute(), "order rows are not versioned");
+    }
+
+    private EntityType<?> entity(String suffix) {
+        return entityManagerFactory.getMetamodel().getEntities().stream()
+                .filter(type -> type.getName().endsWith(suffix))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No entity named *" + suffix));
+    }
+}